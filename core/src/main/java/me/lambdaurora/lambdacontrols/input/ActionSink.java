@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the receiver of the actions resolved by the input engine.
+ *
+ * @param <B> The type of the bindings.
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public interface ActionSink<B extends InputBinding>
+{
+    /**
+     * Returns whether the specified binding is available in the specified input context.
+     *
+     * @param binding The binding.
+     * @param context The current input context.
+     * @return True if the binding is available, else false.
+     */
+    boolean isAvailable(@NotNull B binding, @NotNull InputContext context);
+
+    /**
+     * Handles the new state of the specified binding, never called with {@link ButtonState#NONE}.
+     *
+     * @param binding The binding.
+     * @param state   The state of the binding.
+     */
+    void handle(@NotNull B binding, @NotNull ButtonState state);
+}
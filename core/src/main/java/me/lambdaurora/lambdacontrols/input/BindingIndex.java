@@ -0,0 +1,359 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a compiled dispatch index of the button bindings.
+ * <p>
+ * Each button code maps to the bindings which use it, in chord size priority order.
+ * The index is rebuilt only when the bindings change, and each update only visits the bindings
+ * which use an active button or which are still pressed.
+ * The bindings of each button are partitioned by {@link InputContext}, so the bindings which cannot be active in the current context are not visited.
+ * <p>
+ * Each button code used by a binding is assigned a bit, so the button set of a binding is compiled into a fixed-width bitmask.
+ * Chord matching and sub-chords suppression are then done with a few word-wide operations.
+ *
+ * @param <B> The type of the bindings.
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class BindingIndex<B extends InputBinding>
+{
+    private static final int[]          NO_BINDINGS = new int[0];
+    private static final InputContext[] CONTEXTS    = InputContext.values();
+
+    // The bindings of each button in each input context.
+    private final int[][][]      buttonBindings = new int[CONTEXTS.length][ButtonStates.CODE_SPACE][];
+    private final int[]          buttonBits     = new int[ButtonStates.CODE_SPACE];
+    private       InputBinding[] bindings       = new InputBinding[0];
+    private       boolean        dirty          = true;
+    // Compiled button sets.
+    private       int            words          = 1;
+    private       long[]         masks          = new long[0];
+    // Whether the binding has a button outside of the code space, such button is never pressed.
+    private       boolean[]      outOfSpace     = new boolean[0];
+    // Reusable update buffers.
+    private       long[]         pressedMask    = new long[1];
+    private       long[]         pressMask      = new long[1];
+    private       long[]         releaseMask    = new long[1];
+    private       long[]         skipMask       = new long[1];
+    private       int[]          visited        = new int[0];
+    private       int            visitStamp     = 0;
+    private       int[]          candidates     = new int[0];
+    private       ButtonState[]  states         = new ButtonState[0];
+    private       InputBinding[] pressed        = new InputBinding[0];
+    private       int            pressedCount   = 0;
+
+    public BindingIndex()
+    {
+        // No button has a bit until the index is built.
+        Arrays.fill(this.buttonBits, -1);
+    }
+
+    /**
+     * Marks the index as outdated, it will be rebuilt on the next update.
+     */
+    public void invalidate()
+    {
+        this.dirty = true;
+    }
+
+    /**
+     * Rebuilds the index if outdated.
+     *
+     * @param bindings The bindings sorted by priority.
+     */
+    private void ensureBuilt(@NotNull List<? extends B> bindings)
+    {
+        if (this.dirty)
+            this.rebuild(bindings);
+    }
+
+    /**
+     * Rebuilds the index from the specified bindings.
+     *
+     * @param bindings The bindings sorted by priority.
+     */
+    private void rebuild(@NotNull List<? extends B> bindings)
+    {
+        int count = bindings.size();
+        this.bindings = bindings.toArray(new InputBinding[0]);
+        for (int i = 0; i < count; i++)
+            this.bindings[i].index = i;
+
+        int[] sizes = new int[ButtonStates.CODE_SPACE];
+        for (InputBinding binding : this.bindings) {
+            for (int btn : binding.getButton()) {
+                if (ButtonStates.isValid(btn))
+                    sizes[btn]++;
+            }
+        }
+        int bits = 0;
+        for (int btn = 0; btn < ButtonStates.CODE_SPACE; btn++)
+            this.buttonBits[btn] = sizes[btn] == 0 ? -1 : bits++;
+        this.words = Math.max(1, (bits + 63) >>> 6);
+        this.masks = new long[count * this.words];
+        this.outOfSpace = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            for (int btn : this.bindings[i].getButton()) {
+                if (!ButtonStates.isValid(btn)) {
+                    this.outOfSpace[i] = true;
+                    continue;
+                }
+                int bit = this.buttonBits[btn];
+                this.masks[i * this.words + (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        // Partitions the bindings of each button by input context.
+        for (InputContext context : CONTEXTS) {
+            int[][] contextBindings = this.buttonBindings[context.ordinal()];
+            Arrays.fill(sizes, 0);
+            for (InputBinding binding : this.bindings) {
+                if (!binding.isInContext(context))
+                    continue;
+                for (int btn : binding.getButton()) {
+                    if (ButtonStates.isValid(btn))
+                        sizes[btn]++;
+                }
+            }
+            for (int btn = 0; btn < ButtonStates.CODE_SPACE; btn++)
+                contextBindings[btn] = sizes[btn] == 0 ? NO_BINDINGS : new int[sizes[btn]];
+            Arrays.fill(sizes, 0);
+            for (int i = 0; i < count; i++) {
+                if (!this.bindings[i].isInContext(context))
+                    continue;
+                for (int btn : this.bindings[i].getButton()) {
+                    // Duplicated buttons in a binding are only indexed once.
+                    if (ButtonStates.isValid(btn) && (sizes[btn] == 0 || contextBindings[btn][sizes[btn] - 1] != i))
+                        contextBindings[btn][sizes[btn]++] = i;
+                }
+            }
+            for (int btn = 0; btn < ButtonStates.CODE_SPACE; btn++) {
+                if (sizes[btn] != contextBindings[btn].length)
+                    contextBindings[btn] = Arrays.copyOf(contextBindings[btn], sizes[btn]);
+            }
+        }
+
+        this.pressedMask = new long[this.words];
+        this.pressMask = new long[this.words];
+        this.releaseMask = new long[this.words];
+        this.skipMask = new long[this.words];
+        this.visited = new int[count];
+        this.visitStamp = 0;
+        this.candidates = new int[count];
+        this.states = new ButtonState[count];
+        if (this.pressed.length < count)
+            this.pressed = Arrays.copyOf(this.pressed, count);
+        this.dirty = false;
+    }
+
+    /**
+     * Resolves the state of the binding at the specified index from the compiled button masks.
+     * <p>
+     * The result is the same as {@link InputBinding#resolveState(int[], ButtonStates)}:
+     * the first button in the binding order which is released or idle decides the state.
+     *
+     * @param index        The index of the binding.
+     * @param buttonStates The button states.
+     * @return The state of the binding.
+     */
+    private @NotNull ButtonState resolveState(int index, @NotNull ButtonStates buttonStates)
+    {
+        int base = index * this.words;
+        boolean notPressed = this.outOfSpace[index];
+        boolean anyPress = false;
+        boolean anyRelease = false;
+        boolean anyNone = this.outOfSpace[index];
+        for (int w = 0; w < this.words; w++) {
+            long mask = this.masks[base + w];
+            long unpressed = mask & ~this.pressedMask[w];
+            if (unpressed != 0) {
+                notPressed = true;
+                if ((unpressed & this.releaseMask[w]) != 0)
+                    anyRelease = true;
+                if ((unpressed & ~this.releaseMask[w]) != 0)
+                    anyNone = true;
+            }
+            if ((mask & this.pressMask[w]) != 0)
+                anyPress = true;
+        }
+        if (!notPressed)
+            return anyPress ? ButtonState.PRESS : ButtonState.REPEAT;
+        else if (!anyRelease)
+            return ButtonState.NONE;
+        else if (!anyNone)
+            return ButtonState.RELEASE;
+        // Released and idle buttons are mixed, the order of the buttons decides.
+        return InputBinding.resolveState(this.bindings[index].getButton(), buttonStates);
+    }
+
+    private boolean isIndexed(@NotNull InputBinding binding)
+    {
+        return binding.index >= 0 && binding.index < this.bindings.length && this.bindings[binding.index] == binding;
+    }
+
+    private boolean isSkipped(int index)
+    {
+        int base = index * this.words;
+        for (int w = 0; w < this.words; w++) {
+            if ((this.masks[base + w] & this.skipMask[w]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the specified button sets are equivalent: the same buttons and the same count of buttons.
+     * <p>
+     * The button sets are compared with their compiled bitmasks. A button without a bit in the index, like a button
+     * no binding uses yet, cannot be compiled, such sets are compared button by button.
+     *
+     * @param buttons1 The first set of buttons.
+     * @param buttons2 The second set of buttons.
+     * @return True if the two sets of buttons are equivalent, else false.
+     */
+    public boolean areEquivalent(int[] buttons1, int[] buttons2)
+    {
+        if (buttons1.length != buttons2.length)
+            return false;
+        long[] mask1 = this.compile(buttons1);
+        long[] mask2 = mask1 == null ? null : this.compile(buttons2);
+        if (mask2 == null)
+            return containsAll(buttons1, buttons2) && containsAll(buttons2, buttons1);
+        return Arrays.equals(mask1, mask2);
+    }
+
+    /**
+     * Compiles the specified buttons into a bitmask with the bits of the index.
+     *
+     * @param buttons The buttons.
+     * @return The bitmask, or null if a button has no bit.
+     */
+    private @Nullable long[] compile(int[] buttons)
+    {
+        long[] mask = new long[this.words];
+        for (int btn : buttons) {
+            int bit = ButtonStates.isValid(btn) ? this.buttonBits[btn] : -1;
+            if (bit == -1)
+                return null;
+            mask[bit >>> 6] |= 1L << bit;
+        }
+        return mask;
+    }
+
+    private static boolean containsAll(int[] buttons, int[] others)
+    {
+        for (int other : others) {
+            boolean found = false;
+            for (int btn : buttons) {
+                if (btn == other) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Updates the bindings states and handles them.
+     *
+     * @param sink         The receiver of the bindings states.
+     * @param context      The current input context.
+     * @param buttonStates The button states.
+     * @param bindings     The bindings sorted by priority, used if the index is outdated.
+     */
+    @SuppressWarnings("unchecked")
+    public void update(@NotNull ActionSink<? super B> sink, @NotNull InputContext context, @NotNull ButtonStates buttonStates, @NotNull List<? extends B> bindings)
+    {
+        this.ensureBuilt(bindings);
+
+        if (++this.visitStamp == 0) {
+            Arrays.fill(this.visited, 0);
+            this.visitStamp = 1;
+        }
+
+        Arrays.fill(this.pressedMask, 0L);
+        Arrays.fill(this.pressMask, 0L);
+        Arrays.fill(this.releaseMask, 0L);
+        Arrays.fill(this.skipMask, 0L);
+
+        // Collects the bindings which can change: the ones of the current context using an active button and the ones still pressed.
+        int[][] contextBindings = this.buttonBindings[context.ordinal()];
+        int count = 0;
+        for (int i = 0; i < buttonStates.getActiveCount(); i++) {
+            int btn = buttonStates.getActiveButton(i);
+            int bit = this.buttonBits[btn];
+            if (bit == -1)
+                continue;
+            long bitMask = 1L << bit;
+            ButtonState state = buttonStates.get(btn);
+            if (state.isPressed())
+                this.pressedMask[bit >>> 6] |= bitMask;
+            if (state == ButtonState.PRESS)
+                this.pressMask[bit >>> 6] |= bitMask;
+            else if (state == ButtonState.RELEASE)
+                this.releaseMask[bit >>> 6] |= bitMask;
+
+            for (int index : contextBindings[btn]) {
+                if (this.visited[index] != this.visitStamp) {
+                    this.visited[index] = this.visitStamp;
+                    this.candidates[count++] = index;
+                }
+            }
+        }
+        for (int i = 0; i < this.pressedCount; i++) {
+            InputBinding binding = this.pressed[i];
+            int index = binding.index;
+            if (!this.isIndexed(binding)) {
+                // The binding is not registered anymore.
+                binding.pressed = false;
+            } else if (this.visited[index] != this.visitStamp) {
+                this.visited[index] = this.visitStamp;
+                this.candidates[count++] = index;
+            }
+        }
+        // Keeps the priority order.
+        Arrays.sort(this.candidates, 0, count);
+
+        this.pressedCount = 0;
+        for (int i = 0; i < count; i++) {
+            int index = this.candidates[i];
+            InputBinding binding = this.bindings[index];
+            ButtonState state = sink.isAvailable((B) binding, context) ? this.resolveState(index, buttonStates) : ButtonState.NONE;
+            // Buttons already used by a pressed binding with a higher priority suppress this binding.
+            if (this.isSkipped(index))
+                state = binding.pressed ? ButtonState.RELEASE : ButtonState.NONE;
+            binding.pressed = state.isPressed();
+            if (binding.pressed) {
+                int base = index * this.words;
+                for (int w = 0; w < this.words; w++)
+                    this.skipMask[w] |= this.masks[base + w];
+                this.pressed[this.pressedCount++] = binding;
+            }
+            this.states[i] = state;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (this.states[i] != ButtonState.NONE)
+                sink.handle((B) this.bindings[this.candidates[i]], this.states[i]);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the layout of the button codes.
+ * <p>
+ * The raw codes of the buttons and axes are the ones of the GLFW gamepad state, the axes as buttons are offset by 100
+ * for the positive direction and by 200 for the negative direction.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class ButtonCodes
+{
+    /**
+     * The span of the button codes of one device, the code of a button is its device index times the span plus its raw code.
+     */
+    public static final int DEVICE_STRIDE      = 500;
+    /**
+     * The maximum count of devices, as many as the GLFW joystick slots.
+     */
+    public static final int MAX_DEVICES        = 16;
+    /**
+     * The device index of the button codes which match the button of any device.
+     */
+    public static final int ANY_DEVICE         = MAX_DEVICES;
+    /**
+     * The size of the button code space, every device and the codes of any device.
+     */
+    public static final int CODE_SPACE         = (MAX_DEVICES + 1) * DEVICE_STRIDE;
+    /**
+     * The count of raw buttons of a gamepad.
+     */
+    public static final int BUTTON_COUNT       = 15;
+    /**
+     * The count of raw axes of a gamepad.
+     */
+    public static final int AXIS_COUNT         = 6;
+    public static final int AXIS_LEFT_Y        = 1;
+    public static final int AXIS_LEFT_TRIGGER  = 4;
+    public static final int AXIS_RIGHT_TRIGGER = 5;
+
+    private ButtonCodes()
+    {
+        throw new UnsupportedOperationException("ButtonCodes only contains static definitions.");
+    }
+
+    /**
+     * Returns the specified axis as a button.
+     *
+     * @param axis     The axis.
+     * @param positive The axis direction.
+     * @return The axis as a button.
+     */
+    public static int axisAsButton(int axis, boolean positive)
+    {
+        return positive ? 100 + axis : 200 + axis;
+    }
+
+    /**
+     * Returns the button code of the specified raw button on the specified device.
+     *
+     * @param device The device index, or {@link #ANY_DEVICE}.
+     * @param button The raw button code.
+     * @return The button code.
+     */
+    public static int deviceButton(int device, int button)
+    {
+        return device * DEVICE_STRIDE + button;
+    }
+
+    /**
+     * Gets the device index of the specified button code.
+     *
+     * @param button The button code.
+     * @return The device index, or {@link #ANY_DEVICE}.
+     */
+    public static int getDevice(int button)
+    {
+        return button < 0 ? 0 : button / DEVICE_STRIDE;
+    }
+
+    /**
+     * Gets the raw button code of the specified button code, without its device.
+     *
+     * @param button The button code.
+     * @return The raw button code.
+     */
+    public static int getRawButton(int button)
+    {
+        return button < 0 ? button : button % DEVICE_STRIDE;
+    }
+
+    /**
+     * Parses the buttons of a button binding code, the buttons joined by {@code +}.
+     * <p>
+     * Every number is a button and anything else is skipped, which gives the matches of the {@code (-?\d+)\+?} pattern.
+     *
+     * @param code The button binding code.
+     * @return The buttons, empty if the code has no button.
+     * @throws NumberFormatException If a button is out of the integer range.
+     */
+    public static int[] parseButtonCode(@NotNull String code)
+    {
+        int length = code.length();
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (isDigit(code.charAt(i)) && (i == 0 || !isDigit(code.charAt(i - 1))))
+                count++;
+        }
+
+        // Every number is a button, a minus sign right before it makes it negative.
+        int[] buttons = new int[count];
+        int i = 0;
+        for (int index = 0; index < count; index++) {
+            while (!isDigit(code.charAt(i)))
+                i++;
+            boolean negative = i > 0 && code.charAt(i - 1) == '-';
+            long value = 0;
+            while (i < length && isDigit(code.charAt(i))) {
+                value = value * 10 + (code.charAt(i++) - '0');
+                if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE))
+                    throw new NumberFormatException("Button out of range in \"" + code + "\".");
+            }
+            buttons[index] = (int) (negative ? -value : value);
+        }
+        return buttons;
+    }
+
+    private static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+}
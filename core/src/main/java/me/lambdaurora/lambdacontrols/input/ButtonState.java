@@ -7,13 +7,13 @@
  * see the LICENSE file.
  */
 
-package me.lambdaurora.lambdacontrols.client;
+package me.lambdaurora.lambdacontrols.input;
 
 /**
  * Represents a button state.
  *
  * @author LambdAurora
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.1.0
  */
 public enum ButtonState
@@ -23,6 +23,8 @@ public enum ButtonState
     RELEASE(2),
     REPEAT(3);
 
+    private static final ButtonState[] BY_ID = new ButtonState[]{NONE, PRESS, RELEASE, REPEAT};
+
     public final int id;
 
     ButtonState(int id)
@@ -49,4 +51,16 @@ public enum ButtonState
     {
         return this == RELEASE || this == NONE;
     }
+
+    /**
+     * Gets the button state from its identifier.
+     *
+     * @param id The identifier of the button state.
+     * @return The button state.
+     * @since 1.2.0
+     */
+    public static ButtonState byId(int id)
+    {
+        return BY_ID[id];
+    }
 }
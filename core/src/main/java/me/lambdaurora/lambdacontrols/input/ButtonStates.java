@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a dense table of button states indexed by button code.
+ * <p>
+ * The table covers the whole button code space: the buttons and axes as buttons of every device.
+ * Reading and writing a state never allocates, and the buttons which are not in the {@link ButtonState#NONE} state are tracked
+ * so the per-tick update only visits them.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class ButtonStates
+{
+    /**
+     * The size of the button code space, every device and the codes of any device.
+     */
+    public static final int CODE_SPACE = ButtonCodes.CODE_SPACE;
+
+    private final byte[] states      = new byte[CODE_SPACE];
+    // Buttons which are not in the NONE state, with their position in that list.
+    private final int[]  active      = new int[CODE_SPACE];
+    private final int[]  activeIndex = new int[CODE_SPACE];
+    private       int    activeCount = 0;
+
+    /**
+     * Returns whether the specified button code is in the code space or not.
+     *
+     * @param button The button code.
+     * @return True if the button code is valid, else false.
+     */
+    public static boolean isValid(int button)
+    {
+        return button >= 0 && button < CODE_SPACE;
+    }
+
+    /**
+     * Gets the state of the specified button.
+     *
+     * @param button The button code.
+     * @return The state of the button, {@link ButtonState#NONE} if the button is unknown.
+     */
+    public @NotNull ButtonState get(int button)
+    {
+        if (!isValid(button))
+            return ButtonState.NONE;
+        return ButtonState.byId(this.states[button]);
+    }
+
+    /**
+     * Returns whether the specified button is pressed or not.
+     *
+     * @param button The button code.
+     * @return True if the button is pressed, else false.
+     */
+    public boolean isPressed(int button)
+    {
+        return this.get(button).isPressed();
+    }
+
+    /**
+     * Sets the state of the specified button.
+     *
+     * @param button The button code.
+     * @param state  The new state.
+     */
+    public void set(int button, @NotNull ButtonState state)
+    {
+        if (!isValid(button))
+            return;
+        boolean wasActive = this.states[button] != ButtonState.NONE.id;
+        this.states[button] = (byte) state.id;
+        if (state == ButtonState.NONE) {
+            if (wasActive)
+                this.removeActive(button);
+        } else if (!wasActive) {
+            this.active[this.activeCount] = button;
+            this.activeIndex[button] = this.activeCount++;
+        }
+    }
+
+    /**
+     * Updates the states: pressed buttons are now repeating and released buttons are now idle.
+     */
+    public void update()
+    {
+        // Iterates backward as the removal swaps the last active button in place of the removed one.
+        for (int i = this.activeCount - 1; i >= 0; i--) {
+            int button = this.active[i];
+            byte state = this.states[button];
+            if (state == ButtonState.PRESS.id)
+                this.states[button] = (byte) ButtonState.REPEAT.id;
+            else if (state == ButtonState.RELEASE.id) {
+                this.states[button] = (byte) ButtonState.NONE.id;
+                this.removeActive(button);
+            }
+        }
+    }
+
+    /**
+     * Returns whether every button is unpressed or not.
+     *
+     * @return True if no button is pressed, else false.
+     */
+    public boolean areAllUnpressed()
+    {
+        for (int i = 0; i < this.activeCount; i++) {
+            if (ButtonState.byId(this.states[this.active[i]]).isPressed())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the count of buttons which are not in the {@link ButtonState#NONE} state.
+     *
+     * @return The count of active buttons.
+     */
+    public int getActiveCount()
+    {
+        return this.activeCount;
+    }
+
+    /**
+     * Gets the active button at the specified index.
+     *
+     * @param index The index, between 0 and {@link #getActiveCount()}.
+     * @return The button code.
+     */
+    public int getActiveButton(int index)
+    {
+        return this.active[index];
+    }
+
+    private void removeActive(int button)
+    {
+        int index = this.activeIndex[button];
+        int last = this.active[--this.activeCount];
+        this.active[index] = last;
+        this.activeIndex[last] = index;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import java.util.Arrays;
+
+/**
+ * Represents the cooldowns scheduler of the controller input.
+ * <p>
+ * Each cooldown is a slot storing the tick at which it expires, so arming and checking a cooldown is constant time
+ * and advancing the time never visits the idle slots.
+ * The first slots are the button codes, the other slots are allocated for the bindings and the GUI actions.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class Cooldowns
+{
+    private long[] expiries;
+    private int    size;
+    private long   now = 0L;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param reserved The count of slots reserved from 0, used for the button codes.
+     */
+    public Cooldowns(int reserved)
+    {
+        this.expiries = new long[reserved + 32];
+        this.size = reserved;
+    }
+
+    /**
+     * Allocates a new cooldown slot.
+     *
+     * @return The new slot.
+     */
+    public int allocate()
+    {
+        if (this.size == this.expiries.length)
+            this.expiries = Arrays.copyOf(this.expiries, this.size * 2);
+        return this.size++;
+    }
+
+    /**
+     * Advances the time by one tick.
+     */
+    public void tick()
+    {
+        this.now++;
+    }
+
+    /**
+     * Arms the cooldown of the specified slot, replacing any running cooldown.
+     *
+     * @param slot  The slot.
+     * @param ticks The duration of the cooldown in ticks.
+     */
+    public void arm(int slot, int ticks)
+    {
+        if (this.isValid(slot))
+            this.expiries[slot] = this.now + ticks;
+    }
+
+    /**
+     * Returns whether the cooldown of the specified slot has expired or not.
+     *
+     * @param slot The slot.
+     * @return True if the cooldown has expired, else false.
+     */
+    public boolean isReady(int slot)
+    {
+        return !this.isValid(slot) || this.expiries[slot] <= this.now;
+    }
+
+    /**
+     * Gets the remaining ticks of the cooldown of the specified slot.
+     *
+     * @param slot The slot.
+     * @return The remaining ticks, 0 if the cooldown has expired.
+     */
+    public int getRemaining(int slot)
+    {
+        return this.isReady(slot) ? 0 : (int) (this.expiries[slot] - this.now);
+    }
+
+    private boolean isValid(int slot)
+    {
+        return slot >= 0 && slot < this.size;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Represents the edge detection of the gamepad buttons and axes.
+ * <p>
+ * Each update reads the polled devices of a {@link GamepadSource}, sets the states of their buttons and of their axes as buttons,
+ * then the states of the codes of any device. The repeated buttons are throttled with the cooldowns of their codes.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class GamepadInput
+{
+    private final ButtonStates states;
+    private final Cooldowns    cooldowns;
+    // The buttons and axes of any device, aggregated over the polled devices.
+    private final boolean[]    anyButtons  = new boolean[ButtonCodes.BUTTON_COUNT];
+    private final boolean[]    anyPrevious = new boolean[ButtonCodes.BUTTON_COUNT];
+    private final boolean[]    anyAxes     = new boolean[ButtonCodes.AXIS_COUNT * 2];
+
+    /**
+     * Creates a new edge detection.
+     *
+     * @param states    The button states to update.
+     * @param cooldowns The cooldowns, whose first slots are the button codes.
+     */
+    public GamepadInput(@NotNull ButtonStates states, @NotNull Cooldowns cooldowns)
+    {
+        this.states = states;
+        this.cooldowns = cooldowns;
+    }
+
+    /**
+     * Updates the button states from the specified source.
+     *
+     * @param source   The polled gamepads.
+     * @param listener The listener of the button edges and of the axes.
+     */
+    public void update(@NotNull GamepadSource source, @NotNull Listener listener)
+    {
+        Arrays.fill(this.anyButtons, false);
+        Arrays.fill(this.anyPrevious, false);
+        Arrays.fill(this.anyAxes, false);
+        for (int i = 0; i < source.getDeviceCount(); i++) {
+            int device = source.getDeviceIndex(i);
+            for (int raw = 0; raw < ButtonCodes.BUTTON_COUNT; raw++) {
+                boolean pressed = source.isButtonPressed(i, raw);
+                boolean previous = source.wasButtonPressed(i, raw);
+                this.anyButtons[raw] |= pressed;
+                this.anyPrevious[raw] |= previous;
+                this.updateButton(ButtonCodes.deviceButton(device, raw), pressed, previous, listener);
+            }
+            for (int raw = 0; raw < ButtonCodes.AXIS_COUNT; raw++)
+                this.updateAxis(source, i, device, raw, listener);
+        }
+
+        for (int raw = 0; raw < ButtonCodes.BUTTON_COUNT; raw++)
+            this.updateButton(ButtonCodes.deviceButton(ButtonCodes.ANY_DEVICE, raw), this.anyButtons[raw], this.anyPrevious[raw], null);
+        for (int raw = 0; raw < ButtonCodes.AXIS_COUNT; raw++) {
+            int axis = ButtonCodes.deviceButton(ButtonCodes.ANY_DEVICE, raw);
+            this.updateAxisButton(ButtonCodes.axisAsButton(axis, true), this.anyAxes[raw * 2]);
+            this.updateAxisButton(ButtonCodes.axisAsButton(axis, false), this.anyAxes[raw * 2 + 1]);
+        }
+    }
+
+    /**
+     * Updates the state of a button.
+     *
+     * @param btn      The button code.
+     * @param pressed  True if the button is pressed, else false.
+     * @param previous True if the button was pressed, else false.
+     * @param listener The listener of the edges, null for the buttons of any device.
+     */
+    private void updateButton(int btn, boolean pressed, boolean previous, @Nullable Listener listener)
+    {
+        ButtonState state = ButtonState.NONE;
+
+        if (pressed != previous) {
+            state = pressed ? ButtonState.PRESS : ButtonState.RELEASE;
+            if (listener != null)
+                listener.onButton(btn, pressed ? 0 : 1, pressed);
+            if (pressed)
+                this.cooldowns.arm(btn, 5);
+        } else if (pressed) {
+            state = ButtonState.REPEAT;
+            if (this.cooldowns.isReady(btn)) {
+                this.cooldowns.arm(btn, 5);
+                if (listener != null)
+                    listener.onButton(btn, 2, true);
+            }
+        }
+
+        this.states.set(btn, state);
+    }
+
+    private void updateAxis(@NotNull GamepadSource source, int i, int device, int raw, @NotNull Listener listener)
+    {
+        int axis = ButtonCodes.deviceButton(device, raw);
+        float value = source.getAxis(i, raw);
+        float processed = source.getProcessedAxis(i, raw);
+
+        if (raw == ButtonCodes.AXIS_LEFT_Y) {
+            value *= -1.0F;
+            processed *= -1.0F;
+        }
+
+        int state = processed > 0.F ? 1 : (processed < 0.F ? 2 : 0);
+        int asButtonState = value > 0.5F ? 1 : (value < -0.5F ? 2 : 0);
+        // The triggers rest at -1, so only their positive direction is a button.
+        if ((raw == ButtonCodes.AXIS_LEFT_TRIGGER || raw == ButtonCodes.AXIS_RIGHT_TRIGGER) && asButtonState == 2)
+            asButtonState = 0;
+
+        this.updateAxisButton(ButtonCodes.axisAsButton(axis, true), asButtonState == 1);
+        this.updateAxisButton(ButtonCodes.axisAsButton(axis, false), asButtonState == 2);
+        this.anyAxes[raw * 2] |= asButtonState == 1;
+        this.anyAxes[raw * 2 + 1] |= asButtonState == 2;
+
+        listener.onAxis(axis, value, processed, state, asButtonState);
+    }
+
+    private void updateAxisButton(int button, boolean pressed)
+    {
+        if (pressed != this.states.get(button).isPressed()) {
+            this.states.set(button, pressed ? ButtonState.PRESS : ButtonState.RELEASE);
+            if (pressed)
+                this.cooldowns.arm(button, 5);
+        } else if (pressed) {
+            this.states.set(button, ButtonState.REPEAT);
+            if (this.cooldowns.isReady(button))
+                this.cooldowns.arm(button, 5);
+        }
+    }
+
+    /**
+     * Represents a listener of the button edges and of the axes of the polled devices.
+     */
+    public interface Listener
+    {
+        /**
+         * Called when a button is pressed, released or repeated after its cooldown.
+         *
+         * @param button  The button code.
+         * @param action  0 if pressed, 1 if released, 2 if repeated.
+         * @param pressed True if the button is pressed, else false.
+         */
+        void onButton(int button, int action, boolean pressed);
+
+        /**
+         * Called for each axis of each polled device, after the update of its axes as buttons.
+         *
+         * @param axis          The axis code.
+         * @param value         The raw value of the axis, the left Y axis is inverted.
+         * @param processed     The processed value of the axis, 0 in the dead zone.
+         * @param state         The state of the processed value: 1 if positive, 2 if negative, else 0.
+         * @param asButtonState The state of the axis as buttons: 1 if positive, 2 if negative, else 0.
+         */
+        void onAxis(int axis, float value, float processed, int state, int asButtonState);
+    }
+}
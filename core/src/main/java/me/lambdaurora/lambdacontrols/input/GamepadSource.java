@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+/**
+ * Represents a source of polled gamepads.
+ * <p>
+ * The devices are read by position, from 0 to {@link #getDeviceCount()}, and the source is polled before each update.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public interface GamepadSource
+{
+    /**
+     * Gets the count of polled devices.
+     *
+     * @return The count of devices.
+     */
+    int getDeviceCount();
+
+    /**
+     * Gets the device index of the polled device at the specified position, used in its button codes.
+     *
+     * @param device The position of the device.
+     * @return The device index, between 0 and {@link ButtonCodes#MAX_DEVICES}.
+     */
+    int getDeviceIndex(int device);
+
+    /**
+     * Returns whether the specified raw button is pressed or not.
+     *
+     * @param device The position of the device.
+     * @param button The raw button code.
+     * @return True if the button is pressed, else false.
+     */
+    boolean isButtonPressed(int device, int button);
+
+    /**
+     * Returns whether the specified raw button was pressed on the previous poll or not.
+     *
+     * @param device The position of the device.
+     * @param button The raw button code.
+     * @return True if the button was pressed, else false.
+     */
+    boolean wasButtonPressed(int device, int button);
+
+    /**
+     * Gets the raw value of the specified axis.
+     *
+     * @param device The position of the device.
+     * @param axis   The raw axis code.
+     * @return The value of the axis, between -1 and 1.
+     */
+    float getAxis(int device, int axis);
+
+    /**
+     * Gets the value of the specified axis after the dead zones and response curves.
+     *
+     * @param device The position of the device.
+     * @param axis   The raw axis code.
+     * @return The processed value of the axis, 0 in the dead zone.
+     */
+    float getProcessedAxis(int device, int axis);
+}
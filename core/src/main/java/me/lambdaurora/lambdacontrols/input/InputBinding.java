@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the part of a button binding seen by the {@link BindingIndex}: its buttons, its contexts and its pressed state.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public abstract class InputBinding
+{
+    boolean pressed = false;
+    // The position in the binding index, -1 if not indexed.
+    int     index   = -1;
+
+    /**
+     * Returns the name of this binding, several bindings may share a name.
+     *
+     * @return The name of the binding.
+     */
+    public abstract @NotNull String getName();
+
+    /**
+     * Returns the button bound.
+     *
+     * @return The bound button.
+     */
+    public abstract int[] getButton();
+
+    /**
+     * Returns whether the binding can be active in the specified input context.
+     *
+     * @param context The input context.
+     * @return True if the binding can be active in the context, else false.
+     */
+    public abstract boolean isInContext(@NotNull InputContext context);
+
+    /**
+     * Returns whether this button is down or not.
+     *
+     * @return True if the button is down, else false.
+     */
+    public boolean isButtonDown()
+    {
+        return this.pressed;
+    }
+
+    /**
+     * Resolves the state of the specified buttons: the first button which is released or idle decides the state.
+     *
+     * @param buttons The buttons.
+     * @param states  The button states.
+     * @return The state of the buttons.
+     */
+    public static @NotNull ButtonState resolveState(int[] buttons, @NotNull ButtonStates states)
+    {
+        ButtonState state = ButtonState.REPEAT;
+        for (int btn : buttons) {
+            ButtonState btnState = states.get(btn);
+            if (btnState == ButtonState.PRESS)
+                state = ButtonState.PRESS;
+            else if (btnState == ButtonState.RELEASE) {
+                state = ButtonState.RELEASE;
+                break;
+            } else if (btnState == ButtonState.NONE) {
+                state = ButtonState.NONE;
+                break;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Gets the buttons of the specified bindings by name.
+     * <p>
+     * Several bindings may share a name, the first one of the specified bindings with a name wins.
+     *
+     * @param bindings The bindings.
+     * @return The buttons by binding name.
+     */
+    public static @NotNull Map<String, int[]> getButtonsByName(@NotNull Iterable<? extends InputBinding> bindings)
+    {
+        Map<String, int[]> buttons = new HashMap<>();
+        for (InputBinding binding : bindings)
+            buttons.putIfAbsent(binding.getName(), binding.getButton());
+        return buttons;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the input context, given once per update by an {@link InputContextProvider}.
+ * <p>
+ * Button bindings declare the contexts in which they can be active, so the other bindings are not visited.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public enum InputContext
+{
+    /**
+     * No screen is opened.
+     */
+    IN_GAME,
+    /**
+     * A container screen is opened.
+     */
+    INVENTORY,
+    /**
+     * The advancements screen is opened.
+     */
+    ADVANCEMENTS,
+    /**
+     * Any other screen is opened.
+     */
+    SCREEN;
+
+    /**
+     * The mask of every context.
+     */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final int mask = 1 << this.ordinal();
+
+    /**
+     * Gets the mask of this context.
+     *
+     * @return The mask.
+     */
+    public int getMask()
+    {
+        return this.mask;
+    }
+
+    /**
+     * Gets the mask of the specified contexts.
+     *
+     * @param contexts The contexts.
+     * @return The mask.
+     */
+    public static int maskOf(@NotNull InputContext... contexts)
+    {
+        int mask = 0;
+        for (InputContext context : contexts)
+            mask |= context.mask;
+        return mask;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the provider of the input context, queried once per update.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+@FunctionalInterface
+public interface InputContextProvider
+{
+    /**
+     * Gets the current input context.
+     *
+     * @return The input context.
+     */
+    @NotNull InputContext getInputContext();
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link BindingIndex} driven by fake gamepads, like on each controller tick of the client.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class BindingIndexTest
+{
+    private static final int                   A           = 0;
+    private static final int                   B           = 1;
+    private static final int                   X           = 2;
+    private static final GamepadInput.Listener NO_LISTENER = new GamepadInput.Listener()
+    {
+        @Override
+        public void onButton(int button, int action, boolean pressed)
+        {
+        }
+
+        @Override
+        public void onAxis(int axis, float value, float processed, int state, int asButtonState)
+        {
+        }
+    };
+
+    private final ButtonStates              states    = new ButtonStates();
+    private final Cooldowns                 cooldowns = new Cooldowns(ButtonStates.CODE_SPACE);
+    private final GamepadInput              input     = new GamepadInput(this.states, this.cooldowns);
+    private final TestGamepad               gamepad   = new TestGamepad(0);
+    private final RecordingSink             sink      = new RecordingSink();
+    private final BindingIndex<TestBinding> index     = new BindingIndex<>();
+    // Sorted by priority, the chords first.
+    private final List<TestBinding>         bindings  = new ArrayList<>();
+    private       InputContext              context   = InputContext.IN_GAME;
+
+    /**
+     * Runs a controller tick and returns the handled states.
+     *
+     * @return The handled states, as {@code name:STATE}.
+     */
+    private List<String> tick()
+    {
+        this.sink.clear();
+        this.cooldowns.tick();
+        this.states.update();
+        this.input.update(this.gamepad, NO_LISTENER);
+        this.index.update(this.sink, this.context, this.states, this.bindings);
+        this.gamepad.endFrame();
+        return new ArrayList<>(this.sink.handled);
+    }
+
+    @Test
+    void chordHasPriorityOverItsSubChords()
+    {
+        TestBinding chord = new TestBinding("chord", A, B);
+        TestBinding a = new TestBinding("a", A);
+        TestBinding b = new TestBinding("b", B);
+        this.bindings.addAll(Arrays.asList(chord, a, b));
+
+        this.gamepad.setButton(0, A, true);
+        this.gamepad.setButton(0, B, true);
+        assertEquals(Collections.singletonList("chord:PRESS"), this.tick());
+        assertTrue(chord.isButtonDown());
+        assertFalse(a.isButtonDown());
+        assertFalse(b.isButtonDown());
+
+        assertEquals(Collections.singletonList("chord:REPEAT"), this.tick());
+
+        this.gamepad.setButton(0, A, false);
+        this.gamepad.setButton(0, B, false);
+        // The sub-chords are not suppressed anymore, so they see the release of their buttons too.
+        assertEquals(Arrays.asList("chord:RELEASE", "a:RELEASE", "b:RELEASE"), this.tick());
+        assertFalse(chord.isButtonDown());
+
+        assertEquals(Collections.emptyList(), this.tick());
+    }
+
+    @Test
+    void suppressedSubChordIsReleased()
+    {
+        TestBinding chord = new TestBinding("chord", A, B);
+        TestBinding a = new TestBinding("a", A);
+        TestBinding b = new TestBinding("b", B);
+        this.bindings.addAll(Arrays.asList(chord, a, b));
+
+        this.gamepad.setButton(0, A, true);
+        assertEquals(Collections.singletonList("a:PRESS"), this.tick());
+        assertTrue(a.isButtonDown());
+
+        // The chord takes over the pressed sub-chord, which is released.
+        this.gamepad.setButton(0, B, true);
+        assertEquals(Arrays.asList("chord:PRESS", "a:RELEASE"), this.tick());
+        assertTrue(chord.isButtonDown());
+        assertFalse(a.isButtonDown());
+        assertFalse(b.isButtonDown());
+
+        assertEquals(Collections.singletonList("chord:REPEAT"), this.tick());
+
+        // Once the chord is released, the sub-chord still held is pressed again.
+        this.gamepad.setButton(0, B, false);
+        assertEquals(Arrays.asList("chord:RELEASE", "a:REPEAT", "b:RELEASE"), this.tick());
+        assertTrue(a.isButtonDown());
+    }
+
+    @Test
+    void bindingsOfOtherContextsAreNotVisited()
+    {
+        TestBinding game = new TestBinding("game", InputContext.IN_GAME.getMask(), new int[]{X});
+        TestBinding inventory = new TestBinding("inventory", InputContext.INVENTORY.getMask(), new int[]{X});
+        this.bindings.addAll(Arrays.asList(game, inventory));
+
+        this.gamepad.setButton(0, X, true);
+        assertEquals(Collections.singletonList("game:PRESS"), this.tick());
+        assertEquals(Collections.singletonList("game"), this.sink.visited);
+
+        // The binding still pressed is visited to be cleared even if it is not in the new context.
+        this.context = InputContext.INVENTORY;
+        assertEquals(Collections.singletonList("inventory:REPEAT"), this.tick());
+        assertEquals(Arrays.asList("game", "inventory"), this.sink.visited);
+        assertFalse(game.isButtonDown());
+        assertTrue(inventory.isButtonDown());
+
+        this.context = InputContext.SCREEN;
+        this.gamepad.setButton(0, X, false);
+        this.tick();
+        assertEquals(Collections.singletonList("inventory"), this.sink.visited);
+    }
+
+    @Test
+    void mixedReleasedAndIdleButtonsFollowTheBindingOrder()
+    {
+        TestBinding ab = new TestBinding("ab", A, B);
+        TestBinding ba = new TestBinding("ba", B, A);
+        this.bindings.addAll(Arrays.asList(ab, ba));
+
+        this.gamepad.setButton(0, A, true);
+        assertEquals(Collections.emptyList(), this.tick());
+
+        // A is released and B is idle: the first of them in the binding decides.
+        this.gamepad.setButton(0, A, false);
+        assertEquals(Collections.singletonList("ab:RELEASE"), this.tick());
+        assertEquals(ButtonState.RELEASE, InputBinding.resolveState(ab.getButton(), this.states));
+        assertEquals(ButtonState.NONE, InputBinding.resolveState(ba.getButton(), this.states));
+    }
+
+    @Test
+    void duplicatedButtonIsHandledOnce()
+    {
+        this.bindings.add(new TestBinding("double", A, A));
+
+        this.gamepad.setButton(0, A, true);
+        assertEquals(Collections.singletonList("double:PRESS"), this.tick());
+    }
+
+    @Test
+    void buttonOutsideOfTheCodeSpaceIsNeverPressed()
+    {
+        TestBinding binding = new TestBinding("outside", A, ButtonStates.CODE_SPACE);
+        this.bindings.add(binding);
+
+        this.gamepad.setButton(0, A, true);
+        assertEquals(Collections.emptyList(), this.tick());
+        assertFalse(binding.isButtonDown());
+    }
+
+    @Test
+    void invalidatedIndexDropsRemovedBindings()
+    {
+        TestBinding a = new TestBinding("a", A);
+        this.bindings.add(a);
+
+        this.gamepad.setButton(0, A, true);
+        assertEquals(Collections.singletonList("a:PRESS"), this.tick());
+
+        TestBinding x = new TestBinding("x", X);
+        this.bindings.clear();
+        this.bindings.add(x);
+        this.index.invalidate();
+
+        this.gamepad.setButton(0, X, true);
+        assertEquals(Collections.singletonList("x:PRESS"), this.tick());
+        assertFalse(a.isButtonDown());
+        assertTrue(x.isButtonDown());
+    }
+
+    @Test
+    void equivalentButtonSets()
+    {
+        this.bindings.add(new TestBinding("chord", A, B, X));
+        this.tick();
+
+        assertTrue(this.index.areEquivalent(new int[]{A, B, X}, new int[]{X, A, B}));
+        assertFalse(this.index.areEquivalent(new int[]{A, B}, new int[]{A, X}));
+        assertFalse(this.index.areEquivalent(new int[]{A, B}, new int[]{A, B, X}));
+        // The sets are compared as sets of buttons with a count, the duplicated buttons are not told apart.
+        assertTrue(this.index.areEquivalent(new int[]{A, A, B}, new int[]{A, B, B}));
+        assertFalse(this.index.areEquivalent(new int[]{A, A}, new int[]{A, B}));
+    }
+
+    @Test
+    void equivalentButtonSetsWithoutBits()
+    {
+        int unknown = ButtonCodes.deviceButton(2, A);
+
+        // Nothing is compiled before the first update.
+        assertTrue(this.index.areEquivalent(new int[]{A, B}, new int[]{B, A}));
+        assertFalse(this.index.areEquivalent(new int[]{A}, new int[]{B}));
+
+        this.bindings.add(new TestBinding("a", A));
+        this.tick();
+        assertTrue(this.index.areEquivalent(new int[]{A, unknown}, new int[]{unknown, A}));
+        assertFalse(this.index.areEquivalent(new int[]{A, unknown}, new int[]{A, B}));
+        assertTrue(this.index.areEquivalent(new int[]{-1}, new int[]{-1}));
+        assertFalse(this.index.areEquivalent(new int[]{-1}, new int[]{A}));
+    }
+}
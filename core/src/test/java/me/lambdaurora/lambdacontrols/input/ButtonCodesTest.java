@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the layout of the {@link ButtonCodes}.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ButtonCodesTest
+{
+    // The pattern of the button binding codes used before the hand-written parser.
+    private static final Pattern BUTTON_BINDING_PATTERN = Pattern.compile("(-?\\d+)\\+?");
+
+    private static int[] parseWithPattern(String code)
+    {
+        Matcher matcher = BUTTON_BINDING_PATTERN.matcher(code);
+        int[] buttons = new int[0];
+        while (matcher.find()) {
+            buttons = Arrays.copyOf(buttons, buttons.length + 1);
+            buttons[buttons.length - 1] = Integer.parseInt(matcher.group(1));
+        }
+        return buttons;
+    }
+
+    @Test
+    void deviceButtonRoundTrip()
+    {
+        for (int device = 0; device <= ButtonCodes.ANY_DEVICE; device++) {
+            for (int raw = 0; raw < ButtonCodes.BUTTON_COUNT; raw++) {
+                int button = ButtonCodes.deviceButton(device, raw);
+                assertEquals(device, ButtonCodes.getDevice(button));
+                assertEquals(raw, ButtonCodes.getRawButton(button));
+                assertTrue(ButtonStates.isValid(button));
+            }
+        }
+    }
+
+    @Test
+    void axesAsButtonsStayInTheirDevice()
+    {
+        for (int device = 0; device <= ButtonCodes.ANY_DEVICE; device++) {
+            for (int raw = 0; raw < ButtonCodes.AXIS_COUNT; raw++) {
+                int axis = ButtonCodes.deviceButton(device, raw);
+                int positive = ButtonCodes.axisAsButton(axis, true);
+                int negative = ButtonCodes.axisAsButton(axis, false);
+                assertEquals(device, ButtonCodes.getDevice(positive));
+                assertEquals(device, ButtonCodes.getDevice(negative));
+                assertEquals(100 + raw, ButtonCodes.getRawButton(positive));
+                assertEquals(200 + raw, ButtonCodes.getRawButton(negative));
+                assertTrue(ButtonStates.isValid(negative));
+            }
+        }
+    }
+
+    @Test
+    void negativeCodesHaveNoDevice()
+    {
+        assertEquals(0, ButtonCodes.getDevice(-1));
+        assertEquals(-1, ButtonCodes.getRawButton(-1));
+        assertFalse(ButtonStates.isValid(-1));
+        assertFalse(ButtonStates.isValid(ButtonCodes.CODE_SPACE));
+    }
+
+    @Test
+    void parseButtonCode()
+    {
+        assertArrayEquals(new int[]{0}, ButtonCodes.parseButtonCode("0"));
+        assertArrayEquals(new int[]{4, 105}, ButtonCodes.parseButtonCode("4+105"));
+        assertArrayEquals(new int[]{-1}, ButtonCodes.parseButtonCode("-1"));
+        assertArrayEquals(new int[]{8000, 1501}, ButtonCodes.parseButtonCode("8000+1501"));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}, ButtonCodes.parseButtonCode("-2147483648+2147483647"));
+    }
+
+    @Test
+    void parseMalformedButtonCode()
+    {
+        // No number, no button: the binding is reset by the configuration.
+        assertArrayEquals(new int[0], ButtonCodes.parseButtonCode(""));
+        assertArrayEquals(new int[0], ButtonCodes.parseButtonCode("+"));
+        assertArrayEquals(new int[0], ButtonCodes.parseButtonCode("-"));
+        assertArrayEquals(new int[0], ButtonCodes.parseButtonCode("abc"));
+        // The separators and garbage around the numbers are skipped.
+        assertArrayEquals(new int[]{1, 2}, ButtonCodes.parseButtonCode("1++2"));
+        assertArrayEquals(new int[]{12}, ButtonCodes.parseButtonCode("12abc"));
+        assertArrayEquals(new int[]{1, -2}, ButtonCodes.parseButtonCode("1-2"));
+        assertArrayEquals(new int[]{-5}, ButtonCodes.parseButtonCode("--5"));
+        // Only the ASCII digits are numbers.
+        assertArrayEquals(new int[]{1}, ButtonCodes.parseButtonCode("\u0661+1"));
+
+        assertThrows(NumberFormatException.class, () -> ButtonCodes.parseButtonCode("2147483648"));
+        assertThrows(NumberFormatException.class, () -> ButtonCodes.parseButtonCode("1+-2147483649"));
+        assertThrows(NumberFormatException.class, () -> ButtonCodes.parseButtonCode("99999999999999999999999"));
+    }
+
+    @Test
+    void parseButtonCodeLikeThePattern()
+    {
+        String[] codes = {"", "+", "-", "+-", "-+", "0", "-0", "007", "1+2", "1++2", "+1+", "1-2", "--5", "-+5", "1 + 2", "12abc",
+                "abc12", "1.5", "1,2", "100+200+300", "\u0661", "-2147483648", "2147483647", "2147483648", "-2147483649",
+                "99999999999999999999999", "1+2147483648"};
+        for (String code : codes) {
+            int[] expected;
+            try {
+                expected = parseWithPattern(code);
+            } catch (NumberFormatException e) {
+                assertThrows(NumberFormatException.class, () -> ButtonCodes.parseButtonCode(code));
+                continue;
+            }
+            assertArrayEquals(expected, ButtonCodes.parseButtonCode(code), code);
+        }
+    }
+}
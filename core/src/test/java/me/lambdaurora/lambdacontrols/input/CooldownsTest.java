@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link Cooldowns}.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class CooldownsTest
+{
+    @Test
+    void armAndExpire()
+    {
+        Cooldowns cooldowns = new Cooldowns(4);
+        cooldowns.arm(2, 3);
+        assertFalse(cooldowns.isReady(2));
+        assertEquals(3, cooldowns.getRemaining(2));
+        assertTrue(cooldowns.isReady(1));
+
+        cooldowns.tick();
+        cooldowns.tick();
+        assertEquals(1, cooldowns.getRemaining(2));
+
+        cooldowns.tick();
+        assertTrue(cooldowns.isReady(2));
+        assertEquals(0, cooldowns.getRemaining(2));
+
+        // Arming again replaces the running cooldown.
+        cooldowns.arm(2, 10);
+        cooldowns.arm(2, 1);
+        assertEquals(1, cooldowns.getRemaining(2));
+    }
+
+    @Test
+    void allocatedSlotsGrow()
+    {
+        Cooldowns cooldowns = new Cooldowns(4);
+        int first = cooldowns.allocate();
+        assertEquals(4, first);
+        cooldowns.arm(first, 3);
+
+        // Allocates past the initial capacity, more than once.
+        int last = first;
+        for (int i = 0; i < 100; i++)
+            last = cooldowns.allocate();
+        assertEquals(104, last);
+        assertEquals(3, cooldowns.getRemaining(first));
+
+        cooldowns.arm(last, 2);
+        cooldowns.tick();
+        cooldowns.tick();
+        assertTrue(cooldowns.isReady(last));
+        assertEquals(1, cooldowns.getRemaining(first));
+    }
+
+    @Test
+    void unknownSlotsAreAlwaysReady()
+    {
+        Cooldowns cooldowns = new Cooldowns(4);
+        cooldowns.arm(-1, 5);
+        cooldowns.arm(4, 5);
+        assertTrue(cooldowns.isReady(-1));
+        assertTrue(cooldowns.isReady(4));
+        assertEquals(0, cooldowns.getRemaining(4));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the edge detection of the {@link GamepadInput}.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class GamepadInputTest
+{
+    private static final int A = 0;
+
+    private final ButtonStates states    = new ButtonStates();
+    private final Cooldowns    cooldowns = new Cooldowns(ButtonStates.CODE_SPACE);
+    private final GamepadInput input     = new GamepadInput(this.states, this.cooldowns);
+    // The first polled gamepad is the device 0, the second one the device 3.
+    private final TestGamepad  gamepad   = new TestGamepad(0, 3);
+    // The button edges as {@code button:action} and the axes as {@code axis:asButtonState}.
+    private final List<String> buttons   = new ArrayList<>();
+    private final List<String> axes      = new ArrayList<>();
+
+    private final GamepadInput.Listener listener = new GamepadInput.Listener()
+    {
+        @Override
+        public void onButton(int button, int action, boolean pressed)
+        {
+            buttons.add(button + ":" + action);
+        }
+
+        @Override
+        public void onAxis(int axis, float value, float processed, int state, int asButtonState)
+        {
+            axes.add(axis + ":" + asButtonState);
+        }
+    };
+
+    /**
+     * Runs a controller tick.
+     */
+    private void tick()
+    {
+        this.buttons.clear();
+        this.axes.clear();
+        this.cooldowns.tick();
+        this.states.update();
+        this.input.update(this.gamepad, this.listener);
+        this.gamepad.endFrame();
+    }
+
+    @Test
+    void buttonEdges()
+    {
+        this.gamepad.setButton(0, A, true);
+        this.tick();
+        assertEquals(ButtonState.PRESS, this.states.get(A));
+        assertEquals(Collections.singletonList(A + ":0"), this.buttons);
+
+        // The repeat is throttled by the cooldown of the button.
+        for (int i = 0; i < 4; i++) {
+            this.tick();
+            assertEquals(ButtonState.REPEAT, this.states.get(A));
+            assertEquals(Collections.emptyList(), this.buttons);
+        }
+        this.tick();
+        assertEquals(ButtonState.REPEAT, this.states.get(A));
+        assertEquals(Collections.singletonList(A + ":2"), this.buttons);
+
+        this.gamepad.setButton(0, A, false);
+        this.tick();
+        assertEquals(ButtonState.RELEASE, this.states.get(A));
+        assertEquals(Collections.singletonList(A + ":1"), this.buttons);
+
+        this.tick();
+        assertEquals(ButtonState.NONE, this.states.get(A));
+        assertEquals(Collections.emptyList(), this.buttons);
+        assertTrue(this.states.areAllUnpressed());
+    }
+
+    @Test
+    void buttonCodesOfEachDevice()
+    {
+        int button = ButtonCodes.deviceButton(3, A);
+
+        this.gamepad.setButton(1, A, true);
+        this.tick();
+        assertEquals(ButtonState.NONE, this.states.get(A));
+        assertEquals(ButtonState.PRESS, this.states.get(button));
+        assertEquals(Collections.singletonList(button + ":0"), this.buttons);
+    }
+
+    @Test
+    void anyDeviceAggregatesTheDevices()
+    {
+        int any = ButtonCodes.deviceButton(ButtonCodes.ANY_DEVICE, A);
+
+        this.gamepad.setButton(1, A, true);
+        this.tick();
+        assertEquals(ButtonState.PRESS, this.states.get(any));
+
+        // Pressing the button on another device does not press it again.
+        this.gamepad.setButton(0, A, true);
+        this.tick();
+        assertEquals(ButtonState.REPEAT, this.states.get(any));
+
+        this.gamepad.setButton(1, A, false);
+        this.tick();
+        assertEquals(ButtonState.REPEAT, this.states.get(any));
+
+        this.gamepad.setButton(0, A, false);
+        this.tick();
+        assertEquals(ButtonState.RELEASE, this.states.get(any));
+        // The edges of any device are not reported to the listener.
+        assertEquals(Collections.singletonList(A + ":1"), this.buttons);
+
+        this.tick();
+        assertEquals(ButtonState.NONE, this.states.get(any));
+    }
+
+    @Test
+    void axesAsButtons()
+    {
+        int leftY = ButtonCodes.deviceButton(3, ButtonCodes.AXIS_LEFT_Y);
+        int leftTrigger = ButtonCodes.deviceButton(3, ButtonCodes.AXIS_LEFT_TRIGGER);
+        int rightTrigger = ButtonCodes.deviceButton(3, ButtonCodes.AXIS_RIGHT_TRIGGER);
+        int anyLeftY = ButtonCodes.deviceButton(ButtonCodes.ANY_DEVICE, ButtonCodes.AXIS_LEFT_Y);
+
+        // The left Y axis is inverted.
+        this.gamepad.setAxis(1, ButtonCodes.AXIS_LEFT_Y, 0.8F);
+        this.gamepad.setAxis(1, ButtonCodes.AXIS_RIGHT_TRIGGER, 1.F);
+        this.tick();
+        assertEquals(ButtonState.PRESS, this.states.get(ButtonCodes.axisAsButton(leftY, false)));
+        assertEquals(ButtonState.NONE, this.states.get(ButtonCodes.axisAsButton(leftY, true)));
+        assertEquals(ButtonState.PRESS, this.states.get(ButtonCodes.axisAsButton(anyLeftY, false)));
+        assertTrue(this.axes.contains(leftY + ":2"));
+        // The triggers at rest are not pressed in their negative direction.
+        assertEquals(ButtonState.NONE, this.states.get(ButtonCodes.axisAsButton(leftTrigger, false)));
+        assertEquals(ButtonState.PRESS, this.states.get(ButtonCodes.axisAsButton(rightTrigger, true)));
+        assertTrue(this.axes.contains(leftTrigger + ":0"));
+
+        this.tick();
+        assertEquals(ButtonState.REPEAT, this.states.get(ButtonCodes.axisAsButton(leftY, false)));
+
+        this.gamepad.setAxis(1, ButtonCodes.AXIS_LEFT_Y, 0.F);
+        this.tick();
+        assertEquals(ButtonState.RELEASE, this.states.get(ButtonCodes.axisAsButton(leftY, false)));
+        assertEquals(ButtonState.RELEASE, this.states.get(ButtonCodes.axisAsButton(anyLeftY, false)));
+
+        this.tick();
+        assertEquals(ButtonState.NONE, this.states.get(ButtonCodes.axisAsButton(leftY, false)));
+        assertEquals(ButtonState.REPEAT, this.states.get(ButtonCodes.axisAsButton(rightTrigger, true)));
+    }
+}
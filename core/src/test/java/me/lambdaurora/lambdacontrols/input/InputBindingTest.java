@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link InputBinding} helpers.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class InputBindingTest
+{
+    @Test
+    void buttonsByName()
+    {
+        Map<String, int[]> buttons = InputBinding.getButtonsByName(Arrays.asList(
+                new TestBinding("jump", 0),
+                new TestBinding("sneak", 1, 2)
+        ));
+        assertEquals(2, buttons.size());
+        assertArrayEquals(new int[]{0}, buttons.get("jump"));
+        assertArrayEquals(new int[]{1, 2}, buttons.get("sneak"));
+    }
+
+    @Test
+    void sharedNameKeepsTheFirstBinding()
+    {
+        // A compatibility binding may re-use the name of another binding.
+        Map<String, int[]> buttons = InputBinding.getButtonsByName(Arrays.asList(
+                new TestBinding("zoom", 3),
+                new TestBinding("jump", 0),
+                new TestBinding("zoom", 4, 5)
+        ));
+        assertEquals(2, buttons.size());
+        assertArrayEquals(new int[]{3}, buttons.get("zoom"));
+        assertArrayEquals(new int[]{0}, buttons.get("jump"));
+    }
+}
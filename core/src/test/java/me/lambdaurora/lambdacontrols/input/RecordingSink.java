@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a sink which records the visited bindings and the handled states, as {@code name:STATE}.
+ * <p>
+ * A binding is available only in its own contexts, like the bindings of the client.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class RecordingSink implements ActionSink<TestBinding>
+{
+    final List<String> visited = new ArrayList<>();
+    final List<String> handled = new ArrayList<>();
+
+    @Override
+    public boolean isAvailable(@NotNull TestBinding binding, @NotNull InputContext context)
+    {
+        this.visited.add(binding.toString());
+        return binding.isInContext(context);
+    }
+
+    @Override
+    public void handle(@NotNull TestBinding binding, @NotNull ButtonState state)
+    {
+        this.handled.add(binding + ":" + state);
+    }
+
+    void clear()
+    {
+        this.visited.clear();
+        this.handled.clear();
+    }
+}
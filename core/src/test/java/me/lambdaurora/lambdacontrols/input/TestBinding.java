@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a named binding for the tests.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class TestBinding extends InputBinding
+{
+    private final String name;
+    private final int    contexts;
+    private final int[]  buttons;
+
+    TestBinding(@NotNull String name, int contexts, int[] buttons)
+    {
+        this.name = name;
+        this.contexts = contexts;
+        this.buttons = buttons;
+    }
+
+    TestBinding(@NotNull String name, int... buttons)
+    {
+        this(name, InputContext.ALL, buttons);
+    }
+
+    @Override
+    public @NotNull String getName()
+    {
+        return this.name;
+    }
+
+    @Override
+    public int[] getButton()
+    {
+        return this.buttons;
+    }
+
+    @Override
+    public boolean isInContext(@NotNull InputContext context)
+    {
+        return (this.contexts & context.getMask()) != 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.name;
+    }
+}
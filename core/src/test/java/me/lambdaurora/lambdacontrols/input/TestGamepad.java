@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.input;
+
+import java.util.Arrays;
+
+/**
+ * Represents fake polled gamepads, each frame the previous buttons are the ones of the last frame.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class TestGamepad implements GamepadSource
+{
+    private final int[]       devices;
+    private final boolean[][] buttons;
+    private final boolean[][] previous;
+    private final float[][]   axes;
+
+    /**
+     * Creates new fake gamepads.
+     *
+     * @param devices The device index of each polled gamepad.
+     */
+    TestGamepad(int... devices)
+    {
+        this.devices = devices;
+        this.buttons = new boolean[devices.length][ButtonCodes.BUTTON_COUNT];
+        this.previous = new boolean[devices.length][ButtonCodes.BUTTON_COUNT];
+        this.axes = new float[devices.length][ButtonCodes.AXIS_COUNT];
+        // The triggers rest at -1.
+        for (float[] deviceAxes : this.axes) {
+            deviceAxes[ButtonCodes.AXIS_LEFT_TRIGGER] = -1.F;
+            deviceAxes[ButtonCodes.AXIS_RIGHT_TRIGGER] = -1.F;
+        }
+    }
+
+    void setButton(int device, int button, boolean pressed)
+    {
+        this.buttons[device][button] = pressed;
+    }
+
+    void setAxis(int device, int axis, float value)
+    {
+        this.axes[device][axis] = value;
+    }
+
+    /**
+     * Ends the frame: the current buttons become the previous buttons.
+     */
+    void endFrame()
+    {
+        for (int i = 0; i < this.devices.length; i++)
+            this.previous[i] = Arrays.copyOf(this.buttons[i], this.buttons[i].length);
+    }
+
+    @Override
+    public int getDeviceCount()
+    {
+        return this.devices.length;
+    }
+
+    @Override
+    public int getDeviceIndex(int device)
+    {
+        return this.devices[device];
+    }
+
+    @Override
+    public boolean isButtonPressed(int device, int button)
+    {
+        return this.buttons[device][button];
+    }
+
+    @Override
+    public boolean wasButtonPressed(int device, int button)
+    {
+        return this.previous[device][button];
+    }
+
+    @Override
+    public float getAxis(int device, int axis)
+    {
+        return this.axes[device][axis];
+    }
+
+    @Override
+    public float getProcessedAxis(int device, int axis)
+    {
+        return this.axes[device][axis];
+    }
+}
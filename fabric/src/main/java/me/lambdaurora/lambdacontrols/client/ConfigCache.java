@@ -0,0 +1,233 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client;
+
+import com.electronwill.nightconfig.core.Config;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a binary cache of the resolved configuration, used at startup instead of parsing the configuration file.
+ * <p>
+ * The cache holds the configuration values and the resolved buttons of the bindings. It is keyed by the size,
+ * the modification time and the checksum of the configuration file, any change of the file invalidates it.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ConfigCache
+{
+    private static final int  MAGIC   = 0x4C43_4346;
+    private static final int  VERSION = 1;
+    private static final byte BOOLEAN = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG    = 2;
+    private static final byte DOUBLE  = 3;
+    private static final byte STRING  = 4;
+
+    private final LambdaControlsClient mod;
+    private final Path                 configPath;
+    private final Path                 path;
+
+    ConfigCache(@NotNull LambdaControlsClient mod, @NotNull Path configPath)
+    {
+        this.mod = mod;
+        this.configPath = configPath;
+        this.path = configPath.resolveSibling("lambdacontrols.cache");
+    }
+
+    /**
+     * Reads the cache into the specified configuration if it matches the configuration file.
+     *
+     * @param config The configuration to fill.
+     * @return The resolved buttons of the bindings by name, or null if the cache is missing or outdated.
+     */
+    public @Nullable Map<String, int[]> read(@NotNull Config config)
+    {
+        if (!Files.isRegularFile(this.path) || !Files.isRegularFile(this.configPath))
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                return null;
+            long size = in.readLong();
+            long modified = in.readLong();
+            long checksum = in.readLong();
+            // The checksum is only computed when the cheap checks pass.
+            if (size != Files.size(this.configPath) || modified != Files.getLastModifiedTime(this.configPath).toMillis() || checksum != this.checksum())
+                return null;
+
+            int count = in.readInt();
+            Map<String, Object> values = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++)
+                values.put(in.readUTF(), readValue(in));
+            count = in.readInt();
+            Map<String, int[]> bindings = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                int[] buttons = new int[in.readUnsignedByte()];
+                for (int j = 0; j < buttons.length; j++)
+                    buttons[j] = in.readInt();
+                bindings.put(name, buttons);
+            }
+
+            // The configuration is only filled once the whole cache is read.
+            values.forEach(config::set);
+            return bindings;
+        } catch (IOException e) {
+            this.mod.warn("Could not read the configuration cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache of the specified configuration, keyed by the current configuration file.
+     *
+     * @param config   The configuration.
+     * @param bindings The resolved buttons of the bindings by name.
+     */
+    public void write(@NotNull Config config, @NotNull Map<String, int[]> bindings)
+    {
+        Map<String, Object> values = ConfigWatcher.flatten(config);
+        for (Object value : values.values()) {
+            if (typeOf(value) == -1) {
+                this.delete();
+                return;
+            }
+        }
+
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(Files.size(this.configPath));
+                out.writeLong(Files.getLastModifiedTime(this.configPath).toMillis());
+                out.writeLong(this.checksum());
+
+                out.writeInt(values.size());
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+                out.writeInt(bindings.size());
+                for (Map.Entry<String, int[]> entry : bindings.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeByte(entry.getValue().length);
+                    for (int button : entry.getValue())
+                        out.writeInt(button);
+                }
+            }
+            try {
+                Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            this.mod.warn("Could not write the configuration cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the cache.
+     */
+    public void delete()
+    {
+        try {
+            Files.deleteIfExists(this.path);
+        } catch (IOException e) {
+            this.mod.warn("Could not delete the configuration cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the CRC32 of the whole configuration file.
+     * <p>
+     * The file is still read on each start, the cache only saves its parsing.
+     *
+     * @return The checksum.
+     * @throws IOException If the file cannot be read.
+     */
+    private long checksum() throws IOException
+    {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(this.configPath));
+        return crc.getValue();
+    }
+
+    private static byte typeOf(@Nullable Object value)
+    {
+        if (value instanceof Boolean)
+            return BOOLEAN;
+        else if (value instanceof Integer)
+            return INTEGER;
+        else if (value instanceof Long)
+            return LONG;
+        else if (value instanceof Double)
+            return DOUBLE;
+        else if (value instanceof String)
+            return STRING;
+        return -1;
+    }
+
+    private static void writeValue(@NotNull DataOutputStream out, @NotNull Object value) throws IOException
+    {
+        byte type = typeOf(value);
+        out.writeByte(type);
+        switch (type) {
+            case BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            case INTEGER:
+                out.writeInt((Integer) value);
+                break;
+            case LONG:
+                out.writeLong((Long) value);
+                break;
+            case DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            default:
+                out.writeUTF((String) value);
+                break;
+        }
+    }
+
+    private static @NotNull Object readValue(@NotNull DataInputStream in) throws IOException
+    {
+        byte type = in.readByte();
+        switch (type) {
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return in.readUTF();
+        }
+        throw new IOException("Unknown value type " + type + ".");
+    }
+}
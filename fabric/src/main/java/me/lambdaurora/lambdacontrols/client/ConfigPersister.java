@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client;
+
+import com.electronwill.nightconfig.core.file.FileConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a write-behind persister of the configuration file.
+ * <p>
+ * Any number of changes are coalesced into one write, done on a background thread once no change happened during a short delay.
+ * The file is written to a temporary file first and then moved in place, so it's never left half-written.
+ * <p>
+ * In the hot-reload mode, the file is only replaced if its content is known: the last write of this persister
+ * or the last content parsed by the {@link ConfigWatcher}. An external change not merged yet delays the write until its merge.
+ * The contents are told apart by their size and checksum, the modification times are too coarse on some file systems.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ConfigPersister
+{
+    private static final long DEBOUNCE_MILLIS = 500L;
+    // The signature of a missing file.
+    private static final long MISSING         = -1L;
+
+    private final    LambdaControlsClient     mod;
+    private final    FileConfig               config;
+    private final    BooleanSupplier          merged;
+    private final    ScheduledExecutorService executor;
+    private final    AtomicBoolean            dirty     = new AtomicBoolean(false);
+    private final    AtomicLong               changes   = new AtomicLong(0L);
+    private final    Object                   writeLock = new Object();
+    private          ScheduledFuture<?>       pending;
+    // The signature of the last known content of the file, guarded by the write lock.
+    private          long                     known     = MISSING;
+    private          boolean                  deferred  = false;
+    // The last change included in the file.
+    private volatile long                     written   = 0L;
+
+    /**
+     * Creates a new persister.
+     *
+     * @param mod    The mod instance.
+     * @param config The configuration to write.
+     * @param merged Whether the external changes of the file are merged by the watcher, the writes wait for the merge then.
+     */
+    ConfigPersister(@NotNull LambdaControlsClient mod, @NotNull FileConfig config, @NotNull BooleanSupplier merged)
+    {
+        this.mod = mod;
+        this.config = config;
+        this.merged = merged;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LambdaControls config writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a write of the configuration, the previous pending write is postponed.
+     *
+     * @return The number of the change, increasing with each call.
+     */
+    public synchronized long schedule()
+    {
+        long change = this.changes.incrementAndGet();
+        this.dirty.set(true);
+        if (this.pending != null)
+            this.pending.cancel(false);
+        this.pending = this.executor.schedule(this::write, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        return change;
+    }
+
+    /**
+     * Writes the pending changes now on the calling thread, called when the client stops.
+     * <p>
+     * The file is replaced even if it has an unknown content, the external changes should be merged before.
+     */
+    public void flush()
+    {
+        synchronized (this) {
+            if (this.pending != null) {
+                this.pending.cancel(false);
+                this.pending = null;
+            }
+        }
+        this.write(true);
+    }
+
+    /**
+     * Returns whether changes are waiting to be written or not.
+     *
+     * @return True if changes are pending, else false.
+     */
+    public boolean isPending()
+    {
+        return this.dirty.get();
+    }
+
+    /**
+     * Gets the number of the last change included in the configuration file.
+     *
+     * @return The number of the last written change, 0 if nothing was written.
+     * @see #schedule()
+     */
+    public long getWrittenChange()
+    {
+        return this.written;
+    }
+
+    /**
+     * Records the current content of the configuration file as known, called once the file is loaded.
+     */
+    public void acknowledgeFile()
+    {
+        synchronized (this.writeLock) {
+            this.known = this.readSignature();
+        }
+    }
+
+    /**
+     * Returns whether the specified content of the configuration file is known or not.
+     *
+     * @param content The content of the file.
+     * @return True if the content is the last write of this persister or was already acknowledged, else false.
+     */
+    public boolean isKnown(byte[] content)
+    {
+        long signature = signature(content);
+        synchronized (this.writeLock) {
+            return signature == this.known;
+        }
+    }
+
+    /**
+     * Records the specified content of the configuration file as known, called once the watcher has read its changes.
+     *
+     * @param content The content of the file.
+     */
+    public void acknowledge(byte[] content)
+    {
+        long signature = signature(content);
+        synchronized (this.writeLock) {
+            this.known = signature;
+        }
+    }
+
+    private void write()
+    {
+        this.write(false);
+    }
+
+    private void write(boolean force)
+    {
+        synchronized (this.writeLock) {
+            // A change done while writing schedules another write.
+            if (!this.dirty.getAndSet(false))
+                return;
+            long change = this.changes.get();
+            Path path = this.config.getNioPath();
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                StringWriter writer = new StringWriter();
+                this.config.configFormat().createWriter().write(this.config, writer);
+                byte[] content = writer.toString().getBytes(StandardCharsets.UTF_8);
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                Files.write(temp, content);
+
+                // Checked right before the move, an external change not merged yet would be overwritten.
+                long current = this.readSignature();
+                if (current != MISSING && current != this.known && this.merged.getAsBoolean()) {
+                    if (!force) {
+                        Files.deleteIfExists(temp);
+                        this.defer();
+                        return;
+                    }
+                    this.mod.warn("The configuration file was changed outside of the game, its changes are overwritten.");
+                }
+
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                this.known = signature(content);
+                this.deferred = false;
+                this.written = change;
+                this.mod.log("Configuration saved.");
+            } catch (IOException e) {
+                this.mod.warn("Could not save the configuration: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Delays the pending write until the external changes of the file are merged.
+     */
+    private void defer()
+    {
+        this.dirty.set(true);
+        if (!this.deferred) {
+            this.deferred = true;
+            this.mod.log("The configuration file was changed outside of the game, saving after its reload.");
+        }
+        synchronized (this) {
+            this.pending = this.executor.schedule(this::write, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Reads the signature of the configuration file.
+     *
+     * @return The signature, or {@link #MISSING} if the file does not exist or cannot be read.
+     */
+    private long readSignature()
+    {
+        try {
+            return signature(Files.readAllBytes(this.config.getNioPath()));
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * Returns the signature of the specified content: its size and its CRC32 checksum.
+     *
+     * @param content The content.
+     * @return The signature.
+     */
+    private static long signature(byte[] content)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        return ((long) content.length << 32) | crc.getValue();
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.io.ParsingException;
+import me.lambdaurora.lambdacontrols.input.ButtonCodes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a watcher of the configuration file for the hot-reload mode.
+ * <p>
+ * The file is parsed again on a daemon thread when it's changed by another program, and diffed against the current
+ * configuration. The diff is applied on the next tick, so the changed settings and bindings switch at once.
+ * The writes of the {@link ConfigPersister} are told by their content and ignored. The diff holds the last change written
+ * when the file was read, so the in-game changes which were not written yet are told from the changes of the file.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+class ConfigWatcher
+{
+    private static final long   SETTLE_MILLIS = 250L;
+    static final         String CONTROLS_PATH = "controller.controls.";
+
+    private final LambdaControlsClient  mod;
+    private final LambdaControlsConfig  owner;
+    private final ConfigPersister       persister;
+    private final AtomicReference<Diff> pending = new AtomicReference<>();
+    private       Thread                thread;
+
+    ConfigWatcher(@NotNull LambdaControlsClient mod, @NotNull LambdaControlsConfig owner, @NotNull ConfigPersister persister)
+    {
+        this.mod = mod;
+        this.owner = owner;
+        this.persister = persister;
+    }
+
+    /**
+     * Starts watching the configuration file, does nothing if already started.
+     */
+    public synchronized void start()
+    {
+        if (this.thread != null)
+            return;
+        this.thread = new Thread(this::run, "LambdaControls config watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Takes the diff waiting to be applied.
+     *
+     * @return The diff, or null if there is no change.
+     */
+    public @Nullable Diff poll()
+    {
+        return this.pending.getAndSet(null);
+    }
+
+    private void run()
+    {
+        Path path = this.owner.config.getNioPath().toAbsolutePath();
+        try (WatchService service = path.getFileSystem().newWatchService()) {
+            path.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            // The file may have been changed while the hot-reload mode was disabled.
+            if (this.owner.getSnapshot().hotReload)
+                this.reload(path);
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = isFileChanged(key, path);
+                // Waits for the writes to settle, a file is often written in several steps.
+                while ((key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null)
+                    changed |= isFileChanged(key, path);
+                if (changed && this.owner.getSnapshot().hotReload)
+                    this.reload(path);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watcher is stopped.
+        } catch (IOException e) {
+            this.mod.warn("Could not watch the configuration: " + e.getMessage());
+        }
+    }
+
+    private static boolean isFileChanged(@NotNull WatchKey key, @NotNull Path path)
+    {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context()))
+                changed = true;
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Reads the changes of the configuration file now on the calling thread, they are taken with {@link #poll()}.
+     */
+    public void reloadNow()
+    {
+        this.reload(this.owner.config.getNioPath().toAbsolutePath());
+    }
+
+    private void reload(@NotNull Path path)
+    {
+        // Read before the file, a write done meanwhile makes the in-game changes look newer than the file.
+        long written = this.persister.getWrittenChange();
+        byte[] content;
+        Config parsed;
+        try {
+            content = Files.readAllBytes(path);
+            // The own writes and the contents already read are skipped.
+            if (this.persister.isKnown(content))
+                return;
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8);
+            parsed = this.owner.config.configFormat().createParser().parse(reader);
+        } catch (IOException | ParsingException e) {
+            this.mod.warn("Could not reload the configuration: " + e.getMessage());
+            return;
+        }
+        Diff diff = this.diff(flatten(this.owner.config), flatten(parsed));
+        diff.writtenChange = written;
+        if (!diff.isEmpty())
+            this.pending.set(diff);
+        // The persister may replace this content now, a write before the merge is detected by the written change.
+        this.persister.acknowledge(content);
+    }
+
+    private @NotNull Diff diff(@NotNull Map<String, Object> current, @NotNull Map<String, Object> parsed)
+    {
+        Diff diff = new Diff();
+        parsed.forEach((path, value) -> {
+            if (!isSameValue(current.get(path), value))
+                this.put(diff, path, value);
+        });
+        current.keySet().stream().filter(path -> !parsed.containsKey(path)).forEach(path -> this.put(diff, path, null));
+        return diff;
+    }
+
+    private void put(@NotNull Diff diff, @NotNull String path, @Nullable Object value)
+    {
+        if (!path.startsWith(CONTROLS_PATH)) {
+            diff.settings.put(path, value);
+            return;
+        }
+        String name = path.substring(CONTROLS_PATH.length());
+        if (value == null) {
+            diff.bindings.put(name, null);
+            return;
+        }
+        try {
+            int[] buttons = ButtonCodes.parseButtonCode(String.valueOf(value));
+            if (buttons.length != 0) {
+                diff.bindings.put(name, buttons);
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // Warned below.
+        }
+        this.mod.warn("Malformed config value \"" + value + "\" for binding \"" + name + "\", ignoring.");
+    }
+
+    private static boolean isSameValue(@Nullable Object current, @Nullable Object parsed)
+    {
+        // The integers may be parsed to another type than the one set.
+        if (current instanceof Number && parsed instanceof Number)
+            return ((Number) current).doubleValue() == ((Number) parsed).doubleValue();
+        return Objects.equals(current, parsed);
+    }
+
+    /**
+     * Flattens the values of the specified configuration by path.
+     *
+     * @param config The configuration.
+     * @return The values by path.
+     */
+    static @NotNull Map<String, Object> flatten(@NotNull UnmodifiableConfig config)
+    {
+        Map<String, Object> values = new HashMap<>();
+        flatten("", config, values);
+        return values;
+    }
+
+    private static void flatten(@NotNull String prefix, @NotNull UnmodifiableConfig config, @NotNull Map<String, Object> values)
+    {
+        for (UnmodifiableConfig.Entry entry : config.entrySet()) {
+            String path = prefix + entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof UnmodifiableConfig)
+                flatten(path + ".", (UnmodifiableConfig) value, values);
+            else
+                values.put(path, value);
+        }
+    }
+
+    /**
+     * Represents the changes of the configuration file.
+     */
+    static final class Diff
+    {
+        // The changed values by path, null if removed.
+        final Map<String, Object> settings = new HashMap<>();
+        // The changed buttons by binding name, null if removed.
+        final Map<String, int[]>  bindings = new HashMap<>();
+        // The last in-game change included in the file.
+        long                      writtenChange;
+
+        boolean isEmpty()
+        {
+            return this.settings.isEmpty() && this.bindings.isEmpty();
+        }
+    }
+}
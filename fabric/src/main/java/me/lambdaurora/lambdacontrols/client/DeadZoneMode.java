@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client;
+
+import org.aperlambda.lambdacommon.utils.Nameable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Represents the shape of the dead zone of the sticks.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public enum DeadZoneMode implements Nameable
+{
+    /**
+     * Each axis is cut independently, the dead zone is a cross.
+     */
+    AXIAL,
+    /**
+     * The stick is cut on its distance from the center, the values out of the dead zone are kept.
+     */
+    RADIAL,
+    /**
+     * The stick is cut on its distance from the center, the distance out of the dead zone is rescaled from 0 to 1.
+     */
+    SCALED_RADIAL;
+
+    /**
+     * Returns the next dead zone mode available.
+     *
+     * @return The next available dead zone mode.
+     */
+    public DeadZoneMode next()
+    {
+        DeadZoneMode[] v = values();
+        if (v.length == this.ordinal() + 1)
+            return v[0];
+        return v[this.ordinal() + 1];
+    }
+
+    @Override
+    public @NotNull String getName()
+    {
+        return this.name().toLowerCase();
+    }
+
+    /**
+     * Gets the dead zone mode from its identifier.
+     *
+     * @param id The identifier of the dead zone mode.
+     * @return The dead zone mode if found, else empty.
+     */
+    public static Optional<DeadZoneMode> byId(@NotNull String id)
+    {
+        return Arrays.stream(values()).filter(mode -> mode.getName().equalsIgnoreCase(id)).findFirst();
+    }
+}
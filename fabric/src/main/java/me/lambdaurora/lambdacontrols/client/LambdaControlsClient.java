@@ -16,6 +16,7 @@ import me.lambdaurora.lambdacontrols.LambdaControlsFeature;
 import me.lambdaurora.lambdacontrols.client.compat.LambdaControlsCompat;
 import me.lambdaurora.lambdacontrols.client.controller.ButtonBinding;
 import me.lambdaurora.lambdacontrols.client.controller.Controller;
+import me.lambdaurora.lambdacontrols.client.controller.MappingDatabase;
 import me.lambdaurora.lambdacontrols.client.gui.LambdaControlsHud;
 import me.lambdaurora.lambdacontrols.client.gui.TouchscreenOverlay;
 import me.lambdaurora.spruceui.event.OpenScreenCallback;
@@ -98,10 +99,15 @@ public class LambdaControlsClient extends LambdaControls implements ClientModIni
     public void onMcInit(@NotNull MinecraftClient client)
     {
         ButtonBinding.init(client.options);
+        Controller.refreshAll();
         this.config.load();
         this.hud.setVisible(this.config.isHudEnabled());
         Controller.updateMappings();
+        MappingDatabase.watch();
         GLFW.glfwSetJoystickCallback((jid, event) -> {
+            Controller.onJoystickEvent(jid, event);
+            // The configured GUIDs may now resolve to another controller.
+            this.config.refreshControllers();
             if (event == GLFW.GLFW_CONNECTED) {
                 Controller controller = Controller.byId(jid);
                 client.getToastManager().add(new SystemToast(SystemToast.Type.TUTORIAL_HINT, new TranslatableText("lambdacontrols.controller.connected", jid),
@@ -117,6 +123,14 @@ public class LambdaControlsClient extends LambdaControls implements ClientModIni
         LambdaControlsCompat.init(this);
     }
 
+    /**
+     * This method is called when Minecraft is stopping.
+     */
+    public void onMcStop()
+    {
+        this.config.flush();
+    }
+
     /**
      * This method is called every Minecraft tick.
      *
@@ -124,6 +138,9 @@ public class LambdaControlsClient extends LambdaControls implements ClientModIni
      */
     public void onTick(@NotNull MinecraftClient client)
     {
+        MappingDatabase.tick();
+        if (this.config.applyFileChanges())
+            this.hud.setVisible(this.config.isHudEnabled());
         this.input.onTick(client);
         if (this.config.getControlsMode() == ControlsMode.CONTROLLER && (client.isWindowFocused() || this.config.hasUnfocusedInput()))
             this.input.onControllerTick(client);
@@ -131,6 +148,8 @@ public class LambdaControlsClient extends LambdaControls implements ClientModIni
 
     public void onRender(MinecraftClient client)
     {
+        if (this.config.getControlsMode() == ControlsMode.CONTROLLER && (client.isWindowFocused() || this.config.hasUnfocusedInput()))
+            this.input.onControllerFrame(client);
         this.input.onRender(client);
     }
 
@@ -15,14 +15,16 @@ import me.lambdaurora.lambdacontrols.LambdaControlsFeature;
 import me.lambdaurora.lambdacontrols.client.controller.ButtonBinding;
 import me.lambdaurora.lambdacontrols.client.controller.Controller;
 import me.lambdaurora.lambdacontrols.client.controller.InputManager;
+import me.lambdaurora.lambdacontrols.input.ButtonCodes;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static org.lwjgl.glfw.GLFW.GLFW_GAMEPAD_AXIS_LEFT_X;
@@ -36,6 +38,8 @@ public class LambdaControlsConfig
     // General
     private static final ControlsMode   DEFAULT_CONTROLS_MODE          = ControlsMode.DEFAULT;
     private static final boolean        DEFAULT_AUTO_SWITCH_MODE       = false;
+    private static final boolean        DEFAULT_HOT_RELOAD             = false;
+    private static final boolean        DEFAULT_BINARY_CACHE           = false;
     // HUD
     private static final boolean        DEFAULT_HUD_ENABLE             = true;
     private static final HudSide        DEFAULT_HUD_SIDE               = HudSide.LEFT;
@@ -48,31 +52,43 @@ public class LambdaControlsConfig
     // Controller
     private static final ControllerType DEFAULT_CONTROLLER_TYPE        = ControllerType.DEFAULT;
     private static final double         DEFAULT_DEAD_ZONE              = 0.25;
+    private static final DeadZoneMode   DEFAULT_DEAD_ZONE_MODE         = DeadZoneMode.AXIAL;
+    private static final double         DEFAULT_OUTER_DEAD_ZONE        = 0.0;
+    private static final double         DEFAULT_RESPONSE_CURVE         = 4.0;
     private static final double         DEFAULT_ROTATION_SPEED         = 40.0;
     private static final double         DEFAULT_MOUSE_SPEED            = 25.0;
     private static final boolean        DEFAULT_UNFOCUSED_INPUT        = false;
-
-    private static final Pattern BUTTON_BINDING_PATTERN = Pattern.compile("(-?\\d+)\\+?");
-
-    protected final FileConfig           config = FileConfig.builder("config/lambdacontrols.toml").concurrent().defaultResource("/config.toml").build();
+    private static final boolean        DEFAULT_SAMPLER                = false;
+    private static final int            DEFAULT_SAMPLER_RATE           = 500;
+    private static final int            MIN_SAMPLER_RATE               = 250;
+    private static final int            MAX_SAMPLER_RATE               = 1000;
+    private static final boolean        DEFAULT_FRAME_RATE_LOOK        = false;
+    private static final boolean        DEFAULT_VIRTUAL_CURSOR         = false;
+    private static final boolean        DEFAULT_FRAME_RATE_CURSOR      = false;
+    private static final double         DEFAULT_CURSOR_ACCELERATION    = 2.0;
+    private static final double         DEFAULT_CURSOR_FRICTION        = 15.0;
+
+    protected final FileConfig           config       = FileConfig.builder("config/lambdacontrols.toml").concurrent().defaultResource("/config.toml").build();
     private final   LambdaControlsClient mod;
-    private         ControlsMode         controlsMode;
-    private         ControllerType       controllerType;
-    // Gameplay.
-    private         boolean              shouldRenderFrontBlockOutline;
-    private         int[]                frontBlockOutlineColor;
-    // Controller settings
-    private         double               deadZone;
-    private         double               rotationSpeed;
-    private         double               mouseSpeed;
-    private         boolean              unfocusedInput;
-    // HUD settings.
-    private         boolean              hudEnable;
-    private         HudSide              hudSide;
+    private final   ConfigPersister      persister;
+    private final   ConfigWatcher        watcher;
+    private final   ConfigCache          cache;
+    // The last in-game change of each path, to keep them over the changes of the file.
+    private final   Map<String, Long>    localChanges = new ConcurrentHashMap<>();
+    // The resolved buttons of the bindings read from the cache, only set while loading.
+    private         Map<String, int[]>   cachedBindings;
+    // Whether the values were read from the cache, the file is then parsed before the first write to keep its comments.
+    private         boolean              fromCache    = false;
+    // The resolved values, replaced as a whole on each change.
+    private volatile Snapshot            snapshot;
 
     public LambdaControlsConfig(@NotNull LambdaControlsClient mod)
     {
         this.mod = mod;
+        this.persister = new ConfigPersister(mod, this.config, () -> this.snapshot.hotReload);
+        this.watcher = new ConfigWatcher(mod, this, this.persister);
+        this.cache = new ConfigCache(mod, this.config.getNioPath());
+        this.snapshot = new Snapshot(this.config);
     }
 
     /**
@@ -80,56 +96,176 @@ public class LambdaControlsConfig
      */
     public void load()
     {
-        this.config.load();
-        this.checkAndFix();
-        this.mod.log("Configuration loaded.");
-        this.controlsMode = ControlsMode.byId(this.config.getOrElse("controls", DEFAULT_CONTROLS_MODE.getName())).orElse(DEFAULT_CONTROLS_MODE);
-        // HUD settings.
-        this.hudEnable = this.config.getOrElse("hud.enable", DEFAULT_HUD_ENABLE);
-        this.hudSide = HudSide.byId(this.config.getOrElse("hud.side", DEFAULT_HUD_SIDE.getName())).orElse(DEFAULT_HUD_SIDE);
+        // The binary cache skips the parsing of the file if it did not change.
+        this.cachedBindings = this.cache.read(this.config);
+        this.fromCache = this.cachedBindings != null;
+        if (this.cachedBindings == null) {
+            this.config.load();
+            this.checkAndFix();
+            this.mod.log("Configuration loaded.");
+        } else {
+            this.mod.log("Configuration loaded from cache.");
+        }
+        this.persister.acknowledgeFile();
+        this.loadFeatures();
+        this.publish();
+        // Controller controls.
+        InputManager.loadButtonBindings(this);
+        if (!this.snapshot.binaryCache)
+            this.cache.delete();
+        else if (this.cachedBindings == null)
+            this.cache.write(this.config, InputManager.getButtonsByName());
+        this.cachedBindings = null;
+        if (this.snapshot.hotReload)
+            this.watcher.start();
+    }
+
+    private void loadFeatures()
+    {
         // Gameplay
         LambdaControlsFeature.FAST_BLOCK_PLACING.setEnabled(this.config.getOrElse("gameplay.fast_block_placing", DEFAULT_FAST_BLOCK_INTERACTION));
         LambdaControlsFeature.FRONT_BLOCK_PLACING.setEnabled(this.config.getOrElse("gameplay.front_block_placing.enabled", DEFAULT_FRONT_BLOCK_PLACING));
-        this.shouldRenderFrontBlockOutline = this.config.getOrElse("gameplay.front_block_placing.outline", DEFAULT_FRONT_BLOCK_OUTLINE);
-        this.frontBlockOutlineColor = this.config.getOptional("gameplay.front_block_placing.outline_color").map(hex -> parseColor((String) hex)).orElse(new int[]{255, 255, 255, 102});
-        // Controller settings.
-        this.controllerType = ControllerType.byId(this.config.getOrElse("controller.type", DEFAULT_CONTROLLER_TYPE.getName())).orElse(DEFAULT_CONTROLLER_TYPE);
-        this.deadZone = this.config.getOrElse("controller.dead_zone", DEFAULT_DEAD_ZONE);
-        this.rotationSpeed = this.config.getOrElse("controller.rotation_speed", DEFAULT_ROTATION_SPEED);
-        this.mouseSpeed = this.config.getOrElse("controller.mouse_speed", DEFAULT_MOUSE_SPEED);
-        this.unfocusedInput = this.config.getOrElse("controller.unfocused_input", DEFAULT_UNFOCUSED_INPUT);
-        // Controller controls.
-        InputManager.loadButtonBindings(this);
+    }
+
+    /**
+     * Applies the changes of the configuration file found in the hot-reload mode, called on each tick.
+     * <p>
+     * Only the changed settings and bindings are applied, the new snapshot is published once.
+     *
+     * @return True if changes were applied, else false.
+     */
+    public boolean applyFileChanges()
+    {
+        ConfigWatcher.Diff diff = this.watcher.poll();
+        if (diff == null)
+            return false;
+        // The in-game changes missing from the file win over the file, the other changes of the file are merged.
+        int skipped = diff.settings.size() + diff.bindings.size();
+        diff.settings.keySet().removeIf(path -> this.isChangedSince(path, diff.writtenChange));
+        diff.bindings.keySet().removeIf(name -> this.isChangedSince(ConfigWatcher.CONTROLS_PATH + name, diff.writtenChange));
+        skipped -= diff.settings.size() + diff.bindings.size();
+        this.localChanges.values().removeIf(change -> change <= diff.writtenChange);
+        if (diff.isEmpty())
+            return false;
+
+        // The file already has the new values, so they are only written back if the file misses other values.
+        diff.settings.forEach((path, value) -> {
+            if (value == null)
+                this.config.remove(path);
+            else
+                this.config.set(path, value);
+        });
+        this.loadFeatures();
+        this.publish();
+        if (!diff.bindings.isEmpty()) {
+            InputManager.bulkUpdate(() -> diff.bindings.forEach((name, buttons) -> InputManager.getBinding(name).ifPresent(binding -> {
+                String path = ConfigWatcher.CONTROLS_PATH + binding.getName();
+                if (buttons == null) {
+                    this.config.remove(path);
+                    binding.setButton(binding.getDefaultButton());
+                } else {
+                    binding.setButton(buttons);
+                    this.config.set(path, binding.getButtonCode());
+                }
+            })));
+        }
+        // A write done since the file was read, or an in-game change kept, means the file misses some of the merged values.
+        if (skipped != 0 || this.persister.getWrittenChange() != diff.writtenChange)
+            this.save();
+        this.mod.log("Configuration reloaded, " + diff.settings.size() + " settings and " + diff.bindings.size() + " bindings changed.");
+        return true;
+    }
+
+    private boolean isChangedSince(@NotNull String path, long change)
+    {
+        Long local = this.localChanges.get(path);
+        return local != null && local > change;
     }
 
     /**
      * Saves the configuration.
+     * <p>
+     * The file is written on a background thread, the changes done in a short delay are written at once.
      */
     public void save()
     {
-        this.config.set("controller.dead_zone", this.deadZone);
-        this.config.set("controller.rotation_speed", this.rotationSpeed);
-        this.config.set("controller.mouse_speed", this.mouseSpeed);
-        this.config.set("controller.unfocused_input", this.unfocusedInput);
-        this.config.save();
-        this.mod.log("Configuration saved.");
+        this.ensureParsed();
+        this.persister.schedule();
     }
 
-    public void checkAndFix()
+    /**
+     * Writes the pending changes of the configuration now, called when the client stops.
+     */
+    public void flush()
     {
-        InputManager.streamBindings().forEach(binding -> {
-            String path = "controller.controls." + binding.getName();
-            Object raw = this.config.getRaw(path);
-            if (raw instanceof Number) {
-                this.mod.warn("Invalid data at \"" + path + "\", fixing...");
-                this.config.set(path, String.valueOf(raw));
-            }
-        });
+        // The file changes not merged yet would be overwritten.
+        if (this.snapshot.hotReload) {
+            this.watcher.reloadNow();
+            this.applyFileChanges();
+        }
+        this.persister.flush();
+    }
 
+    /**
+     * Sets the value at the specified path and schedules a write of the configuration.
+     *
+     * @param path  The path of the value.
+     * @param value The new value.
+     */
+    private void set(@NotNull String path, Object value)
+    {
+        this.ensureParsed();
+        this.config.set(path, value);
+        this.localChanges.put(path, this.persister.schedule());
+    }
+
+    /**
+     * Parses the configuration file if the values were read from the cache.
+     * <p>
+     * The cache only holds the values, writing them as is would lose the comments and the layout of the file.
+     */
+    private void ensureParsed()
+    {
+        if (this.fromCache) {
+            this.fromCache = false;
+            this.config.load();
+        }
+    }
+
+    /**
+     * Resolves the configuration values into a new snapshot and publishes it.
+     */
+    private void publish()
+    {
+        this.snapshot = new Snapshot(this.config);
+    }
+
+    /**
+     * Resolves the used controllers again, as a GUID may now match another connected controller.
+     */
+    public void refreshControllers()
+    {
+        this.publish();
+    }
+
+    /**
+     * Gets the current snapshot of the resolved configuration values.
+     * <p>
+     * The snapshot is immutable, reading several values from it gives a consistent view.
+     *
+     * @return The configuration snapshot.
+     */
+    public @NotNull Snapshot getSnapshot()
+    {
+        return this.snapshot;
+    }
+
+    public void checkAndFix()
+    {
         // This shouldn't happen if the configuration is new.
         if (!this.config.contains("gameplay.front_block_placing.enabled") && this.config.contains("gameplay.front_block_placing")) {
             this.config.remove("gameplay.front_block_placing");
-            this.config.set("gameplay.front_block_placing.enabled", DEFAULT_FRONT_BLOCK_PLACING);
+            this.set("gameplay.front_block_placing.enabled", DEFAULT_FRONT_BLOCK_PLACING);
         }
 
         this.renamed("controller.controls.tab_left", "controller.controls.tab_back");
@@ -142,7 +278,7 @@ public class LambdaControlsConfig
             return;
         Object raw = this.config.getRaw(oldPath);
         this.config.remove(oldPath);
-        this.config.set(newPath, raw);
+        this.set(newPath, raw);
     }
 
     /**
@@ -153,6 +289,8 @@ public class LambdaControlsConfig
         // General
         this.setControlsMode(DEFAULT_CONTROLS_MODE);
         this.setAutoSwitchMode(DEFAULT_AUTO_SWITCH_MODE);
+        this.setHotReload(DEFAULT_HOT_RELOAD);
+        this.setBinaryCache(DEFAULT_BINARY_CACHE);
         // Gameplay
         this.setFastBlockPlacing(DEFAULT_FAST_BLOCK_INTERACTION);
         this.setFlyDrifting(DEFAULT_FLY_DRIFTING);
@@ -162,15 +300,26 @@ public class LambdaControlsConfig
         // Controller
         this.setControllerType(DEFAULT_CONTROLLER_TYPE);
         this.setDeadZone(DEFAULT_DEAD_ZONE);
+        this.setDeadZoneMode(DEFAULT_DEAD_ZONE_MODE);
+        this.setOuterDeadZone(DEFAULT_OUTER_DEAD_ZONE);
+        this.setResponseCurve(DEFAULT_RESPONSE_CURVE);
         this.setRotationSpeed(DEFAULT_ROTATION_SPEED);
         this.setMouseSpeed(DEFAULT_MOUSE_SPEED);
         this.setUnfocusedInput(DEFAULT_UNFOCUSED_INPUT);
+        this.setSampler(DEFAULT_SAMPLER);
+        this.setSamplerRate(DEFAULT_SAMPLER_RATE);
+        this.setFrameRateLook(DEFAULT_FRAME_RATE_LOOK);
+        this.setVirtualCursor(DEFAULT_VIRTUAL_CURSOR);
+        this.setFrameRateCursor(DEFAULT_FRAME_RATE_CURSOR);
+        this.setCursorAcceleration(DEFAULT_CURSOR_ACCELERATION);
+        this.setCursorFriction(DEFAULT_CURSOR_FRICTION);
         // HUD
         this.setHudEnabled(DEFAULT_HUD_ENABLE);
         this.setHudSide(DEFAULT_HUD_SIDE);
 
         // Collect prevents concurrent modification.
-        InputManager.streamBindings().collect(Collectors.toList()).forEach(binding -> this.setButtonBinding(binding, binding.getDefaultButton()));
+        List<ButtonBinding> bindings = InputManager.streamBindings().collect(Collectors.toList());
+        InputManager.bulkUpdate(() -> bindings.forEach(binding -> this.setButtonBinding(binding, binding.getDefaultButton())));
     }
 
     /**
@@ -180,7 +329,7 @@ public class LambdaControlsConfig
      */
     public @NotNull ControlsMode getControlsMode()
     {
-        return this.controlsMode;
+        return this.snapshot.controlsMode;
     }
 
     /**
@@ -190,8 +339,8 @@ public class LambdaControlsConfig
      */
     public void setControlsMode(@NotNull ControlsMode controlsMode)
     {
-        this.controlsMode = controlsMode;
-        this.config.set("controls", controlsMode.getName());
+        this.set("controls", controlsMode.getName());
+        this.publish();
     }
 
     /**
@@ -201,7 +350,7 @@ public class LambdaControlsConfig
      */
     public boolean hasAutoSwitchMode()
     {
-        return this.config.getOrElse("auto_switch_mode", DEFAULT_AUTO_SWITCH_MODE);
+        return this.snapshot.autoSwitchMode;
     }
 
     /**
@@ -211,7 +360,52 @@ public class LambdaControlsConfig
      */
     public void setAutoSwitchMode(boolean autoSwitchMode)
     {
-        this.config.set("auto_switch_mode", autoSwitchMode);
+        this.set("auto_switch_mode", autoSwitchMode);
+        this.publish();
+    }
+
+    /**
+     * Returns whether the configuration file is reloaded when changed by another program or not.
+     *
+     * @return True if the hot-reload mode is enabled, else false.
+     */
+    public boolean hasHotReload()
+    {
+        return this.snapshot.hotReload;
+    }
+
+    /**
+     * Sets whether the configuration file is reloaded when changed by another program or not.
+     *
+     * @param hotReload True if the hot-reload mode is enabled, else false.
+     */
+    public void setHotReload(boolean hotReload)
+    {
+        this.set("hot_reload", hotReload);
+        this.publish();
+        if (hotReload)
+            this.watcher.start();
+    }
+
+    /**
+     * Returns whether the configuration is cached in a binary file to skip its parsing at startup or not.
+     *
+     * @return True if the binary cache is enabled, else false.
+     */
+    public boolean hasBinaryCache()
+    {
+        return this.snapshot.binaryCache;
+    }
+
+    /**
+     * Sets whether the configuration is cached in a binary file to skip its parsing at startup or not.
+     *
+     * @param binaryCache True if the binary cache is enabled, else false.
+     */
+    public void setBinaryCache(boolean binaryCache)
+    {
+        this.set("binary_cache", binaryCache);
+        this.publish();
     }
 
     /*
@@ -225,7 +419,7 @@ public class LambdaControlsConfig
      */
     public boolean isHudEnabled()
     {
-        return this.hudEnable;
+        return this.snapshot.hudEnable;
     }
 
     /**
@@ -235,8 +429,8 @@ public class LambdaControlsConfig
      */
     public void setHudEnabled(boolean enable)
     {
-        this.hudEnable = enable;
-        this.config.set("hud.enable", this.hudEnable);
+        this.set("hud.enable", enable);
+        this.publish();
     }
 
     /**
@@ -246,7 +440,7 @@ public class LambdaControlsConfig
      */
     public @NotNull HudSide getHudSide()
     {
-        return this.hudSide;
+        return this.snapshot.hudSide;
     }
 
     /**
@@ -256,8 +450,8 @@ public class LambdaControlsConfig
      */
     public void setHudSide(@NotNull HudSide hudSide)
     {
-        this.hudSide = hudSide;
-        this.config.set("hud.side", hudSide.getName());
+        this.set("hud.side", hudSide.getName());
+        this.publish();
     }
 
     /*
@@ -282,7 +476,7 @@ public class LambdaControlsConfig
     public void setFastBlockPlacing(boolean enable)
     {
         LambdaControlsFeature.FAST_BLOCK_PLACING.setEnabled(enable);
-        this.config.set("gameplay.fast_block_placing", enable);
+        this.set("gameplay.fast_block_placing", enable);
     }
 
     /**
@@ -292,7 +486,7 @@ public class LambdaControlsConfig
      */
     public boolean hasFlyDrifting()
     {
-        return this.config.getOrElse("gameplay.fly.drifting", DEFAULT_FLY_DRIFTING);
+        return this.snapshot.flyDrifting;
     }
 
     /**
@@ -302,7 +496,8 @@ public class LambdaControlsConfig
      */
     public void setFlyDrifting(boolean flyDrifting)
     {
-        this.config.set("gameplay.fly.drifting", flyDrifting);
+        this.set("gameplay.fly.drifting", flyDrifting);
+        this.publish();
     }
 
     /**
@@ -312,7 +507,7 @@ public class LambdaControlsConfig
      */
     public boolean hasFlyVerticalDrifting()
     {
-        return this.config.getOrElse("gameplay.fly.vertical_drifting", DEFAULT_FLY_VERTICAL_DRIFTING);
+        return this.snapshot.flyVerticalDrifting;
     }
 
     /**
@@ -322,7 +517,8 @@ public class LambdaControlsConfig
      */
     public void setFlyVerticalDrifting(boolean flyDrifting)
     {
-        this.config.set("gameplay.fly.vertical_drifting", flyDrifting);
+        this.set("gameplay.fly.vertical_drifting", flyDrifting);
+        this.publish();
     }
 
     /**
@@ -343,7 +539,7 @@ public class LambdaControlsConfig
     public void setFrontBlockPlacing(boolean enable)
     {
         LambdaControlsFeature.FRONT_BLOCK_PLACING.setEnabled(enable);
-        this.config.set("gameplay.front_block_placing.enabled", enable);
+        this.set("gameplay.front_block_placing.enabled", enable);
     }
 
     /**
@@ -353,7 +549,7 @@ public class LambdaControlsConfig
      */
     public boolean shouldRenderFrontBlockOutline()
     {
-        return this.shouldRenderFrontBlockOutline;
+        return this.snapshot.frontBlockOutline;
     }
 
     /**
@@ -363,19 +559,21 @@ public class LambdaControlsConfig
      */
     public void setRenderFrontBlockOutline(boolean render)
     {
-        this.config.set("gameplay.front_block_placing.outline", this.shouldRenderFrontBlockOutline = render);
+        this.set("gameplay.front_block_placing.outline", render);
+        this.publish();
     }
 
     /**
      * Returns the front block placing outline color as an integer array.
      * <p>
-     * The integer array has 4 elements: red, green, blue and alpha.
+     * The integer array has 4 elements: red, green, blue and alpha. A new array is returned on each call.
      *
      * @return The color as a RGBA integer array.
      */
     public int[] getFrontBlockOutlineColor()
     {
-        return this.frontBlockOutlineColor;
+        int color = this.snapshot.frontBlockOutlineColor;
+        return new int[]{(color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF, color >>> 24};
     }
 
     /*
@@ -389,13 +587,7 @@ public class LambdaControlsConfig
      */
     public @NotNull Controller getController()
     {
-        Object raw = this.config.getRaw("controller.id");
-        if (raw instanceof Number) {
-            return Controller.byId((Integer) raw);
-        } else if (raw instanceof String) {
-            return Controller.byGuid((String) raw).orElse(Controller.byId(GLFW.GLFW_JOYSTICK_1));
-        }
-        return Controller.byId(GLFW.GLFW_JOYSTICK_1);
+        return this.snapshot.controller;
     }
 
     /**
@@ -405,7 +597,8 @@ public class LambdaControlsConfig
      */
     public void setController(@NotNull Controller controller)
     {
-        this.config.set("controller.id", controller.getId());
+        this.set("controller.id", controller.getId());
+        this.publish();
     }
 
     /**
@@ -415,15 +608,7 @@ public class LambdaControlsConfig
      */
     public @NotNull Optional<Controller> getSecondController()
     {
-        Object raw = this.config.getRaw("controller.id2");
-        if (raw instanceof Number) {
-            if ((int) raw == -1)
-                return Optional.empty();
-            return Optional.of(Controller.byId((Integer) raw));
-        } else if (raw instanceof String) {
-            return Optional.of(Controller.byGuid((String) raw).orElse(Controller.byId(GLFW.GLFW_JOYSTICK_1)));
-        }
-        return Optional.empty();
+        return this.snapshot.secondController;
     }
 
     /**
@@ -433,7 +618,46 @@ public class LambdaControlsConfig
      */
     public void setSecondController(@Nullable Controller controller)
     {
-        this.config.set("controller.id2", controller == null ? -1 : controller.getId());
+        this.set("controller.id2", controller == null ? -1 : controller.getId());
+        this.publish();
+    }
+
+    /**
+     * Gets the controller assigned to the specified device index.
+     * <p>
+     * The device 0 is the used controller and the device 1 the second controller, the next ones are read from
+     * {@code controller.id3} to {@code controller.id16}.
+     *
+     * @param device The device index.
+     * @return The controller if assigned, else empty.
+     */
+    public @NotNull Optional<Controller> getDevice(int device)
+    {
+        Snapshot snapshot = this.snapshot;
+        for (int i = 0; i < snapshot.getDeviceCount(); i++) {
+            if (snapshot.getDeviceIndex(i) == device)
+                return Optional.of(snapshot.getDeviceController(i));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Assigns a controller to the specified device index.
+     *
+     * @param device     The device index, between 1 and 15.
+     * @param controller The controller, or null to unassign the device.
+     */
+    public void setDevice(int device, @Nullable Controller controller)
+    {
+        if (device < 1 || device >= ButtonBinding.MAX_DEVICES)
+            throw new IllegalArgumentException("Invalid device index " + device + ".");
+        this.set(getDevicePath(device), controller == null ? -1 : controller.getId());
+        this.publish();
+    }
+
+    private static @NotNull String getDevicePath(int device)
+    {
+        return device == 0 ? "controller.id" : "controller.id" + (device + 1);
     }
 
     /**
@@ -443,7 +667,7 @@ public class LambdaControlsConfig
      */
     public @NotNull ControllerType getControllerType()
     {
-        return this.controllerType;
+        return this.snapshot.controllerType;
     }
 
     /**
@@ -453,8 +677,8 @@ public class LambdaControlsConfig
      */
     public void setControllerType(@NotNull ControllerType controllerType)
     {
-        this.controllerType = controllerType;
-        this.config.set("controller.type", controllerType.getName());
+        this.set("controller.type", controllerType.getName());
+        this.publish();
     }
 
     /**
@@ -464,7 +688,7 @@ public class LambdaControlsConfig
      */
     public double getDeadZone()
     {
-        return this.deadZone;
+        return this.snapshot.deadZone;
     }
 
     /**
@@ -474,7 +698,81 @@ public class LambdaControlsConfig
      */
     public void setDeadZone(double deadZone)
     {
-        this.deadZone = deadZone;
+        this.set("controller.dead_zone", deadZone);
+        this.publish();
+    }
+
+    /**
+     * Gets the shape of the dead zone of the sticks.
+     *
+     * @return The dead zone mode.
+     */
+    public @NotNull DeadZoneMode getDeadZoneMode()
+    {
+        return this.snapshot.deadZoneMode;
+    }
+
+    /**
+     * Sets the shape of the dead zone of the sticks.
+     *
+     * @param deadZoneMode The dead zone mode.
+     */
+    public void setDeadZoneMode(@NotNull DeadZoneMode deadZoneMode)
+    {
+        this.set("controller.stick.dead_zone_mode", deadZoneMode.getName());
+        this.publish();
+    }
+
+    /**
+     * Gets the outer dead zone of the sticks, the stick deflection beyond {@code 1 - outerDeadZone} is seen as a full deflection.
+     *
+     * @return The outer dead zone.
+     */
+    public double getOuterDeadZone()
+    {
+        return this.snapshot.outerDeadZone;
+    }
+
+    /**
+     * Sets the outer dead zone of the sticks.
+     *
+     * @param outerDeadZone The outer dead zone, clamped between 0 and 0.5.
+     */
+    public void setOuterDeadZone(double outerDeadZone)
+    {
+        this.set("controller.stick.outer_dead_zone", clampOuterDeadZone(outerDeadZone));
+        this.publish();
+    }
+
+    private static double clampOuterDeadZone(double outerDeadZone)
+    {
+        return Math.max(0.0, Math.min(0.5, outerDeadZone));
+    }
+
+    /**
+     * Gets the exponent of the response curve of the look direction.
+     *
+     * @return The response curve exponent.
+     */
+    public double getResponseCurve()
+    {
+        return this.snapshot.responseCurve;
+    }
+
+    /**
+     * Sets the exponent of the response curve of the look direction.
+     *
+     * @param responseCurve The response curve exponent, clamped between 1 and 8.
+     */
+    public void setResponseCurve(double responseCurve)
+    {
+        this.set("controller.stick.response_curve", clampResponseCurve(responseCurve));
+        this.publish();
+    }
+
+    private static double clampResponseCurve(double responseCurve)
+    {
+        return Math.max(1.0, Math.min(8.0, responseCurve));
     }
 
     /**
@@ -484,7 +782,7 @@ public class LambdaControlsConfig
      */
     public double getRotationSpeed()
     {
-        return this.rotationSpeed;
+        return this.snapshot.rotationSpeed;
     }
 
     /**
@@ -494,7 +792,8 @@ public class LambdaControlsConfig
      */
     public void setRotationSpeed(double rotationSpeed)
     {
-        this.rotationSpeed = rotationSpeed;
+        this.set("controller.rotation_speed", rotationSpeed);
+        this.publish();
     }
 
     /**
@@ -504,7 +803,7 @@ public class LambdaControlsConfig
      */
     public double getMouseSpeed()
     {
-        return this.mouseSpeed;
+        return this.snapshot.mouseSpeed;
     }
 
     /**
@@ -514,7 +813,8 @@ public class LambdaControlsConfig
      */
     public void setMouseSpeed(double mouseSpeed)
     {
-        this.mouseSpeed = mouseSpeed;
+        this.set("controller.mouse_speed", mouseSpeed);
+        this.publish();
     }
 
     /**
@@ -524,7 +824,7 @@ public class LambdaControlsConfig
      */
     public boolean doesInvertRightXAxis()
     {
-        return this.config.getOrElse("controller.invert_right_x_axis", false);
+        return this.snapshot.invertRightXAxis;
     }
 
     /**
@@ -534,7 +834,8 @@ public class LambdaControlsConfig
      */
     public void setInvertRightXAxis(boolean invert)
     {
-        this.config.set("controller.invert_right_x_axis", invert);
+        this.set("controller.invert_right_x_axis", invert);
+        this.publish();
     }
 
     /**
@@ -544,7 +845,7 @@ public class LambdaControlsConfig
      */
     public boolean doesInvertRightYAxis()
     {
-        return this.config.getOrElse("controller.invert_right_y_axis", false);
+        return this.snapshot.invertRightYAxis;
     }
 
     /**
@@ -554,7 +855,8 @@ public class LambdaControlsConfig
      */
     public void setInvertRightYAxis(boolean invert)
     {
-        this.config.set("controller.invert_right_y_axis", invert);
+        this.set("controller.invert_right_y_axis", invert);
+        this.publish();
     }
 
     /**
@@ -564,7 +866,7 @@ public class LambdaControlsConfig
      */
     public boolean hasUnfocusedInput()
     {
-        return this.unfocusedInput;
+        return this.snapshot.unfocusedInput;
     }
 
     /**
@@ -574,7 +876,174 @@ public class LambdaControlsConfig
      */
     public void setUnfocusedInput(boolean unfocusedInput)
     {
-        this.unfocusedInput = unfocusedInput;
+        this.set("controller.unfocused_input", unfocusedInput);
+        this.publish();
+    }
+
+    /**
+     * Returns whether the gamepad sampler is enabled or not.
+     * <p>
+     * The sampler polls the controllers on each frame so short button presses between the ticks are not lost.
+     *
+     * @return True if the gamepad sampler is enabled, else false.
+     */
+    public boolean hasSampler()
+    {
+        return this.snapshot.sampler;
+    }
+
+    /**
+     * Sets whether the gamepad sampler is enabled or not.
+     *
+     * @param sampler True if the gamepad sampler is enabled, else false.
+     */
+    public void setSampler(boolean sampler)
+    {
+        this.set("controller.sampler.enabled", sampler);
+        this.publish();
+    }
+
+    /**
+     * Gets the maximum rate of the gamepad sampler in hertz.
+     * <p>
+     * The rate is a cap, the sampler never samples more often than the frame rate.
+     *
+     * @return The sampler rate.
+     */
+    public int getSamplerRate()
+    {
+        return this.snapshot.samplerRate;
+    }
+
+    /**
+     * Sets the maximum rate of the gamepad sampler in hertz.
+     *
+     * @param samplerRate The sampler rate, clamped between 250 and 1000.
+     */
+    public void setSamplerRate(int samplerRate)
+    {
+        this.set("controller.sampler.rate", clampSamplerRate(samplerRate));
+        this.publish();
+    }
+
+    private static int clampSamplerRate(int rate)
+    {
+        return Math.max(MIN_SAMPLER_RATE, Math.min(MAX_SAMPLER_RATE, rate));
+    }
+
+    /**
+     * Returns whether the look direction follows the right stick on each frame or on each tick.
+     *
+     * @return True if the look direction is updated on each frame, else false.
+     */
+    public boolean hasFrameRateLook()
+    {
+        return this.snapshot.frameRateLook;
+    }
+
+    /**
+     * Sets whether the look direction follows the right stick on each frame or on each tick.
+     *
+     * @param frameRateLook True if the look direction is updated on each frame, else false.
+     */
+    public void setFrameRateLook(boolean frameRateLook)
+    {
+        this.set("controller.frame_rate_look", frameRateLook);
+        this.publish();
+    }
+
+    /**
+     * Returns whether the controller moves a virtual cursor in the screens instead of the system cursor.
+     *
+     * @return True if the virtual cursor is enabled, else false.
+     */
+    public boolean hasVirtualCursor()
+    {
+        return this.snapshot.virtualCursor;
+    }
+
+    /**
+     * Sets whether the controller moves a virtual cursor in the screens instead of the system cursor.
+     *
+     * @param virtualCursor True if the virtual cursor is enabled, else false.
+     */
+    public void setVirtualCursor(boolean virtualCursor)
+    {
+        this.set("controller.virtual_cursor", virtualCursor);
+        this.publish();
+    }
+
+    /**
+     * Returns whether the GUI cursor motion is integrated on each frame or stepped on each tick.
+     *
+     * @return True if the GUI cursor moves on each frame, else false.
+     */
+    public boolean hasFrameRateCursor()
+    {
+        return this.snapshot.frameRateCursor;
+    }
+
+    /**
+     * Sets whether the GUI cursor motion is integrated on each frame or stepped on each tick.
+     *
+     * @param frameRateCursor True if the GUI cursor moves on each frame, else false.
+     */
+    public void setFrameRateCursor(boolean frameRateCursor)
+    {
+        this.set("controller.cursor.frame_rate", frameRateCursor);
+        this.publish();
+    }
+
+    /**
+     * Gets the exponent of the acceleration curve of the GUI cursor, applied to the stick deflection.
+     *
+     * @return The cursor acceleration exponent.
+     */
+    public double getCursorAcceleration()
+    {
+        return this.snapshot.cursorAcceleration;
+    }
+
+    /**
+     * Sets the exponent of the acceleration curve of the GUI cursor.
+     *
+     * @param cursorAcceleration The cursor acceleration exponent, clamped between 1 and 4.
+     */
+    public void setCursorAcceleration(double cursorAcceleration)
+    {
+        this.set("controller.cursor.acceleration", clampCursorAcceleration(cursorAcceleration));
+        this.publish();
+    }
+
+    private static double clampCursorAcceleration(double cursorAcceleration)
+    {
+        return Math.max(1.0, Math.min(4.0, cursorAcceleration));
+    }
+
+    /**
+     * Gets the friction of the GUI cursor, the rate per second at which its velocity follows the stick.
+     *
+     * @return The cursor friction.
+     */
+    public double getCursorFriction()
+    {
+        return this.snapshot.cursorFriction;
+    }
+
+    /**
+     * Sets the friction of the GUI cursor.
+     *
+     * @param cursorFriction The cursor friction, clamped between 1 and 60.
+     */
+    public void setCursorFriction(double cursorFriction)
+    {
+        this.set("controller.cursor.friction", clampCursorFriction(cursorFriction));
+        this.publish();
+    }
+
+    private static double clampCursorFriction(double cursorFriction)
+    {
+        return Math.max(1.0, Math.min(60.0, cursorFriction));
     }
 
     /**
@@ -584,7 +1053,7 @@ public class LambdaControlsConfig
      */
     public double getRightXAxisSign()
     {
-        return this.doesInvertRightXAxis() ? -1.0 : 1.0;
+        return this.snapshot.rightXAxisSign;
     }
 
     /**
@@ -594,7 +1063,7 @@ public class LambdaControlsConfig
      */
     public double getRightYAxisSign()
     {
-        return this.doesInvertRightYAxis() ? -1.0 : 1.0;
+        return this.snapshot.rightYAxisSign;
     }
 
     /**
@@ -604,43 +1073,41 @@ public class LambdaControlsConfig
      */
     public void loadButtonBinding(@NotNull ButtonBinding button)
     {
-        button.setButton(button.getDefaultButton());
-        String code = this.config.getOrElse("controller.controls." + button.getName(), button.getButtonCode());
+        if (this.cachedBindings != null) {
+            int[] buttons = this.cachedBindings.get(button.getName());
+            if (buttons != null) {
+                button.setButton(buttons);
+                return;
+            }
+        }
 
-        Matcher matcher = BUTTON_BINDING_PATTERN.matcher(code);
+        String path = "controller.controls." + button.getName();
+        Object raw = this.config.getRaw(path);
+        if (raw instanceof Number) {
+            this.mod.warn("Invalid data at \"" + path + "\", fixing...");
+            raw = String.valueOf(raw);
+            this.set(path, raw);
+        }
+        String code = raw instanceof String ? (String) raw : null;
+        if (code == null) {
+            button.setButton(button.getDefaultButton());
+            return;
+        }
 
         try {
-            int[] buttons = new int[1];
-            int count = 0;
-            while (matcher.find()) {
-                count++;
-                if (count > buttons.length)
-                    buttons = Arrays.copyOf(buttons, count);
-                String current;
-                if (!this.checkValidity(button, code, current = matcher.group(1)))
-                    return;
-                buttons[count - 1] = Integer.parseInt(current);
-            }
-            if (count == 0) {
+            int[] buttons = ButtonCodes.parseButtonCode(code);
+            if (buttons.length == 0) {
                 this.mod.warn("Malformed config value \"" + code + "\" for binding \"" + button.getName() + "\".");
                 this.setButtonBinding(button, new int[]{-1});
+                return;
             }
 
+            // The button is only set once, so the binding is moved at most once in the registry.
             button.setButton(buttons);
         } catch (Exception e) {
             this.mod.warn("Malformed config value \"" + code + "\" for binding \"" + button.getName() + "\".");
-            this.config.set("controller.controls." + button.getName(), button.getButtonCode());
-        }
-    }
-
-    private boolean checkValidity(@NotNull ButtonBinding binding, @NotNull String input, String group)
-    {
-        if (group == null) {
-            this.mod.warn("Malformed config value \"" + input + "\" for binding \"" + binding.getName() + "\".");
-            this.config.set("controller.controls." + binding.getName(), binding.getButtonCode());
-            return false;
+            this.setButtonBinding(button, button.getDefaultButton());
         }
-        return true;
     }
 
     /**
@@ -652,7 +1119,7 @@ public class LambdaControlsConfig
     public void setButtonBinding(@NotNull ButtonBinding binding, int[] button)
     {
         binding.setButton(button);
-        this.config.set("controller.controls." + binding.getName(), binding.getButtonCode());
+        this.set("controller.controls." + binding.getName(), binding.getButtonCode());
     }
 
     public boolean isBackButton(int btn, boolean isBtn, int state)
@@ -695,30 +1162,180 @@ public class LambdaControlsConfig
     }
 
     /**
-     * Parses a color from a hexadecimal color string.
+     * Parses a RGB or RGBA hexadecimal color.
      *
      * @param hex The hexadecimal color.
-     * @return The color instance, null if invalid.
+     * @return The color as a packed ARGB integer, or null if the color is malformed.
      */
-    private static int[] parseColor(String hex)
+    private static @Nullable Integer parseColor(String hex)
     {
         hex = hex.replace("#", "");
         switch (hex.length()) {
             case 6:
-                return new int[]{
-                        Integer.valueOf(hex.substring(0, 2), 16),
-                        Integer.valueOf(hex.substring(2, 4), 16),
-                        Integer.valueOf(hex.substring(4, 6), 16),
-                        255
-                };
+                return 0xFF000000 | Integer.parseInt(hex, 16);
             case 8:
-                return new int[]{
-                        Integer.valueOf(hex.substring(0, 2), 16),
-                        Integer.valueOf(hex.substring(2, 4), 16),
-                        Integer.valueOf(hex.substring(4, 6), 16),
-                        Integer.valueOf(hex.substring(6, 8), 16)
-                };
+                // RRGGBBAA to AARRGGBB.
+                int rgba = (int) Long.parseLong(hex, 16);
+                return (rgba << 24) | (rgba >>> 8);
         }
         return null;
     }
+
+    private static @NotNull Controller resolveController(@NotNull FileConfig config)
+    {
+        Object raw = config.getRaw("controller.id");
+        if (raw instanceof Number) {
+            return Controller.byId(((Number) raw).intValue());
+        } else if (raw instanceof String) {
+            return Controller.byGuid((String) raw).orElse(Controller.byId(GLFW.GLFW_JOYSTICK_1));
+        }
+        return Controller.byId(GLFW.GLFW_JOYSTICK_1);
+    }
+
+    private static @NotNull Optional<Controller> resolveDevice(@NotNull FileConfig config, int device)
+    {
+        Object raw = config.getRaw(getDevicePath(device));
+        if (raw instanceof Number) {
+            if (((Number) raw).intValue() == -1)
+                return Optional.empty();
+            return Optional.of(Controller.byId(((Number) raw).intValue()));
+        } else if (raw instanceof String) {
+            return Optional.of(Controller.byGuid((String) raw).orElse(Controller.byId(GLFW.GLFW_JOYSTICK_1)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Represents an immutable snapshot of the resolved configuration values.
+     * <p>
+     * A new snapshot is published on load and on each change, so the hot paths only read final fields.
+     *
+     * @author LambdAurora
+     * @version 1.2.0
+     * @since 1.2.0
+     */
+    public static final class Snapshot
+    {
+        // General
+        public final ControlsMode         controlsMode;
+        public final boolean              autoSwitchMode;
+        public final boolean              hotReload;
+        public final boolean              binaryCache;
+        // HUD
+        public final boolean              hudEnable;
+        public final HudSide              hudSide;
+        // Gameplay
+        public final boolean              flyDrifting;
+        public final boolean              flyVerticalDrifting;
+        public final boolean              frontBlockOutline;
+        // The packed ARGB color.
+        public final int                  frontBlockOutlineColor;
+        // Controller
+        public final Controller           controller;
+        public final Optional<Controller> secondController;
+        public final ControllerType       controllerType;
+        public final double               deadZone;
+        public final DeadZoneMode         deadZoneMode;
+        public final double               outerDeadZone;
+        public final double               responseCurve;
+        public final double               rotationSpeed;
+        public final double               mouseSpeed;
+        public final boolean              invertRightXAxis;
+        public final boolean              invertRightYAxis;
+        public final double               rightXAxisSign;
+        public final double               rightYAxisSign;
+        public final boolean              unfocusedInput;
+        public final boolean              sampler;
+        public final int                  samplerRate;
+        public final boolean              frameRateLook;
+        public final boolean              virtualCursor;
+        public final boolean              frameRateCursor;
+        public final double               cursorAcceleration;
+        public final double               cursorFriction;
+        // The assigned devices, compacted: the device index and the controller of each.
+        private final int[]               deviceIndexes;
+        private final Controller[]        deviceControllers;
+
+        private Snapshot(@NotNull FileConfig config)
+        {
+            this.controlsMode = ControlsMode.byId(config.getOrElse("controls", DEFAULT_CONTROLS_MODE.getName())).orElse(DEFAULT_CONTROLS_MODE);
+            this.autoSwitchMode = config.getOrElse("auto_switch_mode", DEFAULT_AUTO_SWITCH_MODE);
+            this.hotReload = config.getOrElse("hot_reload", DEFAULT_HOT_RELOAD);
+            this.binaryCache = config.getOrElse("binary_cache", DEFAULT_BINARY_CACHE);
+            this.hudEnable = config.getOrElse("hud.enable", DEFAULT_HUD_ENABLE);
+            this.hudSide = HudSide.byId(config.getOrElse("hud.side", DEFAULT_HUD_SIDE.getName())).orElse(DEFAULT_HUD_SIDE);
+            this.flyDrifting = config.getOrElse("gameplay.fly.drifting", DEFAULT_FLY_DRIFTING);
+            this.flyVerticalDrifting = config.getOrElse("gameplay.fly.vertical_drifting", DEFAULT_FLY_VERTICAL_DRIFTING);
+            this.frontBlockOutline = config.getOrElse("gameplay.front_block_placing.outline", DEFAULT_FRONT_BLOCK_OUTLINE);
+            this.frontBlockOutlineColor = config.getOptional("gameplay.front_block_placing.outline_color").map(hex -> parseColor((String) hex)).orElse(0x66FFFFFF);
+            this.controller = resolveController(config);
+            this.secondController = resolveDevice(config, 1);
+            this.controllerType = ControllerType.byId(config.getOrElse("controller.type", DEFAULT_CONTROLLER_TYPE.getName())).orElse(DEFAULT_CONTROLLER_TYPE);
+            this.deadZone = config.<Number>getOrElse("controller.dead_zone", DEFAULT_DEAD_ZONE).doubleValue();
+            this.deadZoneMode = DeadZoneMode.byId(config.getOrElse("controller.stick.dead_zone_mode", DEFAULT_DEAD_ZONE_MODE.getName())).orElse(DEFAULT_DEAD_ZONE_MODE);
+            this.outerDeadZone = clampOuterDeadZone(config.<Number>getOrElse("controller.stick.outer_dead_zone", DEFAULT_OUTER_DEAD_ZONE).doubleValue());
+            this.responseCurve = clampResponseCurve(config.<Number>getOrElse("controller.stick.response_curve", DEFAULT_RESPONSE_CURVE).doubleValue());
+            this.rotationSpeed = config.<Number>getOrElse("controller.rotation_speed", DEFAULT_ROTATION_SPEED).doubleValue();
+            this.mouseSpeed = config.<Number>getOrElse("controller.mouse_speed", DEFAULT_MOUSE_SPEED).doubleValue();
+            this.invertRightXAxis = config.getOrElse("controller.invert_right_x_axis", false);
+            this.invertRightYAxis = config.getOrElse("controller.invert_right_y_axis", false);
+            this.rightXAxisSign = this.invertRightXAxis ? -1.0 : 1.0;
+            this.rightYAxisSign = this.invertRightYAxis ? -1.0 : 1.0;
+            this.unfocusedInput = config.getOrElse("controller.unfocused_input", DEFAULT_UNFOCUSED_INPUT);
+            this.sampler = config.getOrElse("controller.sampler.enabled", DEFAULT_SAMPLER);
+            this.samplerRate = clampSamplerRate(config.getIntOrElse("controller.sampler.rate", DEFAULT_SAMPLER_RATE));
+            this.frameRateLook = config.getOrElse("controller.frame_rate_look", DEFAULT_FRAME_RATE_LOOK);
+            this.virtualCursor = config.getOrElse("controller.virtual_cursor", DEFAULT_VIRTUAL_CURSOR);
+            this.frameRateCursor = config.getOrElse("controller.cursor.frame_rate", DEFAULT_FRAME_RATE_CURSOR);
+            this.cursorAcceleration = clampCursorAcceleration(config.<Number>getOrElse("controller.cursor.acceleration", DEFAULT_CURSOR_ACCELERATION).doubleValue());
+            this.cursorFriction = clampCursorFriction(config.<Number>getOrElse("controller.cursor.friction", DEFAULT_CURSOR_FRICTION).doubleValue());
+
+            int[] indexes = new int[ButtonBinding.MAX_DEVICES];
+            Controller[] controllers = new Controller[ButtonBinding.MAX_DEVICES];
+            int count = 0;
+            indexes[count] = 0;
+            controllers[count++] = this.controller;
+            for (int device = 1; device < ButtonBinding.MAX_DEVICES; device++) {
+                Optional<Controller> controller = device == 1 ? this.secondController : resolveDevice(config, device);
+                if (controller.isPresent()) {
+                    indexes[count] = device;
+                    controllers[count++] = controller.get();
+                }
+            }
+            this.deviceIndexes = Arrays.copyOf(indexes, count);
+            this.deviceControllers = Arrays.copyOf(controllers, count);
+        }
+
+        /**
+         * Gets the count of assigned devices.
+         *
+         * @return The count of assigned devices, at least 1.
+         */
+        public int getDeviceCount()
+        {
+            return this.deviceIndexes.length;
+        }
+
+        /**
+         * Gets the device index of the specified assigned device.
+         *
+         * @param i The position of the assigned device, between 0 and the count of assigned devices.
+         * @return The device index.
+         */
+        public int getDeviceIndex(int i)
+        {
+            return this.deviceIndexes[i];
+        }
+
+        /**
+         * Gets the controller of the specified assigned device.
+         *
+         * @param i The position of the assigned device, between 0 and the count of assigned devices.
+         * @return The controller.
+         */
+        public @NotNull Controller getDeviceController(int i)
+        {
+            return this.deviceControllers[i];
+        }
+    }
 }
@@ -12,14 +12,21 @@ package me.lambdaurora.lambdacontrols.client;
 import me.lambdaurora.lambdacontrols.LambdaControlsFeature;
 import me.lambdaurora.lambdacontrols.client.compat.LambdaControlsCompat;
 import me.lambdaurora.lambdacontrols.client.controller.ButtonBinding;
-import me.lambdaurora.lambdacontrols.client.controller.Controller;
+import me.lambdaurora.lambdacontrols.client.controller.ControllerSource;
+import me.lambdaurora.lambdacontrols.client.controller.CursorPhysics;
+import me.lambdaurora.lambdacontrols.client.controller.GamepadSampler;
 import me.lambdaurora.lambdacontrols.client.controller.InputManager;
+import me.lambdaurora.lambdacontrols.client.controller.ScreenHandlerRegistry;
+import me.lambdaurora.lambdacontrols.client.controller.StickProcessor;
+import me.lambdaurora.lambdacontrols.client.controller.SlotGrid;
 import me.lambdaurora.lambdacontrols.client.gui.ControllerControlsScreen;
+import me.lambdaurora.lambdacontrols.client.gui.LambdaControlsRenderer;
 import me.lambdaurora.lambdacontrols.client.gui.TouchscreenOverlay;
 import me.lambdaurora.lambdacontrols.client.mixin.AdvancementsScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.mixin.CreativeInventoryScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.mixin.EntryListWidgetAccessor;
 import me.lambdaurora.lambdacontrols.client.util.ContainerScreenAccessor;
+import me.lambdaurora.lambdacontrols.input.GamepadInput;
 import me.lambdaurora.spruceui.SpruceLabelWidget;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -36,6 +43,7 @@ import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
 import net.minecraft.client.gui.screen.multiplayer.MultiplayerScreen;
 import net.minecraft.client.gui.screen.multiplayer.MultiplayerServerListWidget;
 import net.minecraft.client.gui.screen.world.WorldListWidget;
+import net.minecraft.client.gui.widget.AbstractButtonWidget;
 import net.minecraft.client.gui.widget.AbstractPressableButtonWidget;
 import net.minecraft.client.gui.widget.AlwaysSelectedEntryListWidget;
 import net.minecraft.client.gui.widget.SliderWidget;
@@ -48,19 +56,11 @@ import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
-import org.aperlambda.lambdacommon.utils.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWGamepadState;
 
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-
 import static me.lambdaurora.lambdacontrols.client.controller.ButtonBinding.axisAsButton;
 import static me.lambdaurora.lambdacontrols.client.controller.InputManager.INPUT_MANAGER;
 import static org.lwjgl.glfw.GLFW.*;
@@ -74,10 +74,27 @@ import static org.lwjgl.glfw.GLFW.*;
  */
 public class LambdaInput
 {
-    private static final Map<Integer, Integer> BUTTON_COOLDOWNS  = new HashMap<>();
     private final        LambdaControlsConfig  config;
+    private final        GamepadSampler        sampler           = new GamepadSampler();
+    private final        StickProcessor        sticks            = new StickProcessor();
+    private final        ControllerSource      source            = new ControllerSource(this.sampler, this.sticks);
+    private final        GamepadInput          gamepad           = new GamepadInput(InputManager.STATES, InputManager.COOLDOWNS);
+    private final        GamepadInput.Listener gamepadListener   = new GamepadInput.Listener()
+    {
+        @Override
+        public void onButton(int button, int action, boolean pressed)
+        {
+            handleButton(MinecraftClient.getInstance(), button, action, pressed);
+        }
+
+        @Override
+        public void onAxis(int axis, float value, float processed, int state, int asButtonState)
+        {
+            handleAxe(MinecraftClient.getInstance(), axis, value, processed, state, asButtonState);
+        }
+    };
     // Cooldowns
-    private              int                   actionGuiCooldown = 0;
+    private final        int                   actionGuiCooldown = InputManager.COOLDOWNS.allocate();
     private              int                   ignoreNextA       = 0;
     // Sneak state.
     private              double                prevTargetYaw     = 0.0;
@@ -90,6 +107,79 @@ public class LambdaInput
     private              int                   targetMouseY      = 0;
     private              float                 mouseSpeedX       = 0.F;
     private              float                 mouseSpeedY       = 0.F;
+    // Frame rate look and cursor.
+    private final        GLFWGamepadState      frameState        = GLFWGamepadState.create();
+    private              long                  lastLookFrame     = 0L;
+    private final        CursorPhysics         cursor            = new CursorPhysics();
+    private              long                  lastCursorFrame   = 0L;
+
+    static {
+        // Screens which require the mouse.
+        ScreenHandlerRegistry.registerMouseScreen(AdvancementsScreen.class);
+        ScreenHandlerRegistry.registerMouseScreen(ContainerScreen.class);
+
+        ScreenHandlerRegistry.registerScrollHandler(CreativeInventoryScreen.class, (input, screen, axis, value) -> {
+            if (axis != GLFW_GAMEPAD_AXIS_RIGHT_Y)
+                return false;
+            CreativeInventoryScreenAccessor accessor = (CreativeInventoryScreenAccessor) screen;
+            if (accessor.lambdacontrols_hasScrollbar() && value != 0.F) {
+                screen.mouseScrolled(0.0, 0.0, -value);
+            }
+            return true;
+        });
+        ScreenHandlerRegistry.registerScrollHandler(AdvancementsScreen.class, (input, screen, axis, value) -> {
+            if (axis != GLFW_GAMEPAD_AXIS_RIGHT_X && axis != GLFW_GAMEPAD_AXIS_RIGHT_Y)
+                return false;
+            AdvancementsScreenAccessor accessor = (AdvancementsScreenAccessor) screen;
+            if (value != 0.F) {
+                AdvancementTab tab = accessor.getSelectedTab();
+                tab.move(axis == GLFW_GAMEPAD_AXIS_RIGHT_X ? -value * 5.0 : 0.0, axis == GLFW_GAMEPAD_AXIS_RIGHT_Y ? -value * 5.0 : 0.0);
+            }
+            return true;
+        });
+
+        ScreenHandlerRegistry.registerPressHandler(AbstractPressableButtonWidget.class, (input, screen, widget) -> {
+            widget.playDownSound(MinecraftClient.getInstance().getSoundManager());
+            widget.onPress();
+            return true;
+        });
+        ScreenHandlerRegistry.registerPressHandler(SpruceLabelWidget.class, (input, screen, label) -> {
+            label.onPress();
+            return true;
+        });
+        ScreenHandlerRegistry.registerPressHandler(WorldListWidget.class, (input, screen, list) -> {
+            list.method_20159().ifPresent(WorldListWidget.Entry::play);
+            return true;
+        });
+        ScreenHandlerRegistry.registerPressHandler(MultiplayerServerListWidget.class, (input, screen, list) -> {
+            MultiplayerServerListWidget.Entry entry = list.getSelected();
+            if (entry instanceof MultiplayerServerListWidget.LanServerEntry || entry instanceof MultiplayerServerListWidget.ServerEntry) {
+                ((MultiplayerScreen) screen).select(entry);
+                ((MultiplayerScreen) screen).connect();
+            }
+            return false;
+        });
+        ScreenHandlerRegistry.registerPressHandler(ParentElement.class, (input, screen, element) -> {
+            Element childFocused = element.getFocused();
+            return childFocused != null && input.handleAButton(screen, childFocused);
+        });
+
+        ScreenHandlerRegistry.registerLeftRightHandler(SliderWidget.class, (input, slider, right) -> {
+            slider.keyPressed(right ? 262 : 263, 0, 0);
+            InputManager.COOLDOWNS.arm(input.actionGuiCooldown, 2); // Prevent to press too quickly the focused element, so we have to skip 5 ticks.
+            return false;
+        });
+        ScreenHandlerRegistry.registerLeftRightHandler(AlwaysSelectedEntryListWidget.class, (input, list, right) -> {
+            ((EntryListWidgetAccessor) list).lambdacontrols_moveSelection(right ? 1 : -1);
+            return false;
+        });
+        ScreenHandlerRegistry.registerLeftRightHandler(ParentElement.class, (input, entryList, right) -> {
+            Element focused = entryList.getFocused();
+            if (focused == null)
+                return true;
+            return input.handleRightLeftElement(focused, right);
+        });
+    }
 
     public LambdaInput(@NotNull LambdaControlsClient mod)
     {
@@ -128,25 +218,17 @@ public class LambdaInput
      */
     public void onControllerTick(@NotNull MinecraftClient client)
     {
-        BUTTON_COOLDOWNS.entrySet().stream().filter(entry -> entry.getValue() > 0).forEach(entry -> BUTTON_COOLDOWNS.put(entry.getKey(), entry.getValue() - 1));
-        // Decreases the cooldown for GUI actions.
-        if (this.actionGuiCooldown > 0)
-            --this.actionGuiCooldown;
+        // Advances the buttons, bindings and GUI actions cooldowns.
+        InputManager.COOLDOWNS.tick();
 
         InputManager.updateStates();
 
-        Controller controller = this.config.getController();
-        if (controller.isConnected()) {
-            GLFWGamepadState state = controller.getState();
-            this.fetchButtonInput(client, state, false);
-            this.fetchAxeInput(client, state, false);
-        }
-        this.config.getSecondController().filter(Controller::isConnected)
-                .ifPresent(joycon -> {
-                    GLFWGamepadState state = joycon.getState();
-                    this.fetchButtonInput(client, state, true);
-                    this.fetchAxeInput(client, state, true);
-                });
+        if (this.config.hasSampler())
+            this.sampler.tick(this.config);
+
+        // Only the assigned and connected devices are polled.
+        this.source.poll(this.config);
+        this.gamepad.update(this.source, this.gamepadListener);
 
         boolean allowInput = true;
 
@@ -159,7 +241,7 @@ public class LambdaInput
         if (this.ignoreNextA > 0)
             this.ignoreNextA--;
 
-        if (client.currentScreen instanceof ControllerControlsScreen && InputManager.STATES.entrySet().parallelStream().map(Map.Entry::getValue).allMatch(ButtonState::isUnpressed)) {
+        if (client.currentScreen instanceof ControllerControlsScreen && InputManager.STATES.areAllUnpressed()) {
             ControllerControlsScreen screen = (ControllerControlsScreen) client.currentScreen;
             if (screen.focusedBinding != null && !screen.waiting) {
                 int[] buttons = new int[screen.currentButtons.size()];
@@ -171,6 +253,27 @@ public class LambdaInput
         }
     }
 
+    /**
+     * This method is called every frame for controller input sampling.
+     *
+     * @param client The client instance.
+     */
+    public void onControllerFrame(@NotNull MinecraftClient client)
+    {
+        if (this.config.hasSampler())
+            this.sampler.onFrame(this.config);
+
+        long now = System.nanoTime();
+        if (this.config.hasFrameRateLook() && client.currentScreen == null && client.player != null && !client.isPaused()) {
+            // The frame time is capped to avoid a jump after a freeze.
+            double frameTime = this.lastLookFrame == 0L ? 0.0 : Math.min(now - this.lastLookFrame, 100_000_000L) / 1_000_000_000.0;
+            this.handleFrameLook(client, frameTime);
+            this.lastLookFrame = now;
+        } else {
+            this.lastLookFrame = 0L;
+        }
+    }
+
     /**
      * This method is called before the screen is rendered.
      *
@@ -180,8 +283,90 @@ public class LambdaInput
     public void onPreRenderScreen(@NotNull MinecraftClient client, @NotNull Screen screen)
     {
         if (!isScreenInteractive(screen)) {
+            if (this.config.hasFrameRateCursor())
+                this.handleFrameCursor(client, screen);
+            else
+                INPUT_MANAGER.updateMousePosition(client);
+        } else {
+            this.lastCursorFrame = 0L;
+        }
+    }
+
+    /**
+     * Moves the GUI cursor from the left stick for one frame.
+     *
+     * @param client The client instance.
+     * @param screen The current screen.
+     */
+    private void handleFrameCursor(@NotNull MinecraftClient client, @NotNull Screen screen)
+    {
+        long now = System.nanoTime();
+        // The frame time is capped to avoid a jump after a freeze.
+        double frameTime = this.lastCursorFrame == 0L ? 0.0 : Math.min(now - this.lastCursorFrame, 100_000_000L) / 1_000_000_000.0;
+        this.lastCursorFrame = now;
+
+        // A queued position, from the slot navigation for example, takes over the stick.
+        if (INPUT_MANAGER.isMovingToTarget()) {
+            this.cursor.stop();
             INPUT_MANAGER.updateMousePosition(client);
+            return;
         }
+
+        LambdaControlsConfig.Snapshot config = this.config.getSnapshot();
+        if (frameTime <= 0.0 || !config.controller.isGamepad() || !GLFW.glfwGetGamepadState(config.controller.getId(), this.frameState))
+            return;
+        this.sticks.process(config, this.frameState);
+        float stickX = this.sticks.getAxis(GLFW_GAMEPAD_AXIS_LEFT_X);
+        float stickY = this.sticks.getAxis(GLFW_GAMEPAD_AXIS_LEFT_Y);
+        if (stickX == 0.F && stickY == 0.F && !this.cursor.isMoving())
+            return;
+
+        // Starts from the current position, the cursor may have been moved by the mouse.
+        if (!this.cursor.isMoving())
+            this.cursor.setPosition(client.mouse.getX(), client.mouse.getY());
+        double slowdown = this.getCursorSlowdown(client, screen, this.cursor.getX(), this.cursor.getY());
+        this.cursor.update(config, stickX, stickY, slowdown, frameTime, client.getWindow().getWidth(), client.getWindow().getHeight());
+        INPUT_MANAGER.setMousePosition(client, this.cursor.getX(), this.cursor.getY());
+    }
+
+    /**
+     * Gets the speed factor of the GUI cursor at the specified position, the cursor slows down near the slots and the widgets.
+     *
+     * @param client The client instance.
+     * @param screen The current screen.
+     * @param mouseX The X coordinate in the window.
+     * @param mouseY The Y coordinate in the window.
+     * @return The speed factor.
+     */
+    private double getCursorSlowdown(@NotNull MinecraftClient client, @NotNull Screen screen, double mouseX, double mouseY)
+    {
+        double scaledX = mouseX * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
+        double scaledY = mouseY * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
+        if (screen instanceof ContainerScreen) {
+            ContainerScreenAccessor accessor = (ContainerScreenAccessor) screen;
+            SlotGrid grid = accessor.lambdacontrols_getSlotGrid();
+            int x = (int) scaledX - accessor.getX();
+            int y = (int) scaledY - accessor.getY();
+            int slot = grid.findNearest(x, y, 14);
+            if (slot == -1)
+                return 1.0;
+            double dx = grid.getCenterX(slot) - x;
+            double dy = grid.getCenterY(slot) - y;
+            return 0.4 + 0.6 * Math.min(1.0, Math.sqrt(dx * dx + dy * dy) / 14.0);
+        }
+        return screen.hoveredElement(scaledX, scaledY).filter(element -> element instanceof AbstractButtonWidget).isPresent() ? 0.6 : 1.0;
+    }
+
+    /**
+     * This method is called after the screen is rendered.
+     *
+     * @param client The client instance.
+     * @param screen The rendered screen.
+     */
+    public void onPostRenderScreen(@NotNull MinecraftClient client, @NotNull Screen screen)
+    {
+        if (INPUT_MANAGER.isVirtualCursorActive())
+            LambdaControlsRenderer.drawVirtualCursor(INPUT_MANAGER.getVirtualMouseX(), INPUT_MANAGER.getVirtualMouseY(), client);
     }
 
     /**
@@ -217,52 +402,11 @@ public class LambdaInput
     {
         if (client.currentScreen == null) {
             this.mouseSpeedX = this.mouseSpeedY = 0.0F;
+            this.cursor.stop();
             INPUT_MANAGER.resetMousePosition(windowWidth, windowHeight);
         }
     }
 
-    private void fetchButtonInput(@NotNull MinecraftClient client, @NotNull GLFWGamepadState gamepadState, boolean leftJoycon)
-    {
-        ByteBuffer buffer = gamepadState.buttons();
-        for (int i = 0; i < buffer.limit(); i++) {
-            int btn = leftJoycon ? ButtonBinding.controller2Button(i) : i;
-            boolean btnState = buffer.get() == (byte) 1;
-            ButtonState state = ButtonState.NONE;
-            ButtonState previousState = InputManager.STATES.getOrDefault(btn, ButtonState.NONE);
-
-            if (btnState != previousState.isPressed()) {
-                state = btnState ? ButtonState.PRESS : ButtonState.RELEASE;
-                this.handleButton(client, btn, btnState ? 0 : 1, btnState);
-                if (btnState)
-                    BUTTON_COOLDOWNS.put(btn, 5);
-            } else if (btnState) {
-                state = ButtonState.REPEAT;
-                if (BUTTON_COOLDOWNS.getOrDefault(btn, 0) == 0) {
-                    BUTTON_COOLDOWNS.put(btn, 5);
-                    this.handleButton(client, btn, 2, true);
-                }
-            }
-
-            InputManager.STATES.put(btn, state);
-        }
-    }
-
-    private void fetchAxeInput(@NotNull MinecraftClient client, @NotNull GLFWGamepadState gamepadState, boolean leftJoycon)
-    {
-        FloatBuffer buffer = gamepadState.axes();
-        for (int i = 0; i < buffer.limit(); i++) {
-            int axis = leftJoycon ? ButtonBinding.controller2Button(i) : i;
-            float value = buffer.get();
-            float absValue = Math.abs(value);
-
-            if (i == GLFW.GLFW_GAMEPAD_AXIS_LEFT_Y)
-                value *= -1.0F;
-
-            int state = value > this.config.getDeadZone() ? 1 : (value < -this.config.getDeadZone() ? 2 : 0);
-            this.handleAxe(client, axis, value, absValue, state);
-        }
-    }
-
     private void handleButton(@NotNull MinecraftClient client, int button, int action, boolean state)
     {
         if (client.currentScreen instanceof ControllerControlsScreen) {
@@ -286,7 +430,7 @@ public class LambdaInput
             if (client.currentScreen != null && isScreenInteractive(client.currentScreen)
                     && (button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_UP || button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_DOWN
                     || button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_LEFT || button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_RIGHT)) {
-                if (this.actionGuiCooldown == 0) {
+                if (InputManager.COOLDOWNS.isReady(this.actionGuiCooldown)) {
                     if (button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_UP) {
                         this.changeFocus(client.currentScreen, false);
                     } else if (button == GLFW.GLFW_GAMEPAD_BUTTON_DPAD_DOWN) {
@@ -303,11 +447,11 @@ public class LambdaInput
 
         if (action == 1) {
             if (button == GLFW.GLFW_GAMEPAD_BUTTON_A && client.currentScreen != null) {
-                if (this.actionGuiCooldown == 0) {
+                if (InputManager.COOLDOWNS.isReady(this.actionGuiCooldown)) {
                     Element focused = client.currentScreen.getFocused();
                     if (focused != null && isScreenInteractive(client.currentScreen)) {
                         if (this.handleAButton(client.currentScreen, focused)) {
-                            this.actionGuiCooldown = 5; // Prevent to press too quickly the focused element, so we have to skip 5 ticks.
+                            InputManager.COOLDOWNS.arm(this.actionGuiCooldown, 5); // Prevent to press too quickly the focused element, so we have to skip 5 ticks.
                             return;
                         }
                     }
@@ -326,7 +470,7 @@ public class LambdaInput
                     }
                     client.interactionManager.clickSlot(((ContainerScreen) client.currentScreen).getContainer().syncId, slot.id, GLFW.GLFW_MOUSE_BUTTON_1, slotAction, client.player);
                     client.player.playerContainer.sendContentUpdates();
-                    this.actionGuiCooldown = 5;
+                    InputManager.COOLDOWNS.arm(this.actionGuiCooldown, 5);
                     return;
                 } else if (button == GLFW.GLFW_GAMEPAD_BUTTON_B) {
                     client.player.closeContainer();
@@ -346,7 +490,7 @@ public class LambdaInput
             }
         }
 
-        if (button == GLFW.GLFW_GAMEPAD_BUTTON_A && client.currentScreen != null && !isScreenInteractive(client.currentScreen) && this.actionGuiCooldown == 0 && this.ignoreNextA == 0) {
+        if (button == GLFW.GLFW_GAMEPAD_BUTTON_A && client.currentScreen != null && !isScreenInteractive(client.currentScreen) && InputManager.COOLDOWNS.isReady(this.actionGuiCooldown) && this.ignoreNextA == 0) {
             double mouseX = client.mouse.getX() * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
             double mouseY = client.mouse.getY() * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
             if (action == 0) {
@@ -354,50 +498,22 @@ public class LambdaInput
             } else if (action == 1) {
                 client.currentScreen.mouseReleased(mouseX, mouseY, GLFW.GLFW_MOUSE_BUTTON_1);
             }
-            this.actionGuiCooldown = 5;
+            InputManager.COOLDOWNS.arm(this.actionGuiCooldown, 5);
         }
     }
 
-    private void handleAxe(@NotNull MinecraftClient client, int axis, float value, float absValue, int state)
+    /**
+     * Handles an axis.
+     *
+     * @param client        The client instance.
+     * @param axis          The axis.
+     * @param value         The raw value of the axis, used by the axes as buttons.
+     * @param processed     The value of the axis processed by the stick processor, 0 in the dead zone.
+     * @param state         The state of the processed value.
+     * @param asButtonState The state of the axis as buttons.
+     */
+    private void handleAxe(@NotNull MinecraftClient client, int axis, float value, float processed, int state, int asButtonState)
     {
-        int asButtonState = value > 0.5F ? 1 : (value < -0.5F ? 2 : 0);
-
-        if (axis == GLFW_GAMEPAD_AXIS_LEFT_TRIGGER || axis == GLFW_GAMEPAD_AXIS_RIGHT_TRIGGER || axis == ButtonBinding.controller2Button(GLFW.GLFW_GAMEPAD_AXIS_LEFT_TRIGGER) ||
-                axis == ButtonBinding.controller2Button(GLFW.GLFW_GAMEPAD_AXIS_RIGHT_TRIGGER))
-            if (asButtonState == 2)
-                asButtonState = 0;
-
-        {
-            boolean currentPlusState = asButtonState == 1;
-            boolean currentMinusState = asButtonState == 2;
-            ButtonState previousPlusState = InputManager.STATES.getOrDefault(axisAsButton(axis, true), ButtonState.NONE);
-            ButtonState previousMinusState = InputManager.STATES.getOrDefault(axisAsButton(axis, false), ButtonState.NONE);
-
-            if (currentPlusState != previousPlusState.isPressed()) {
-                InputManager.STATES.put(axisAsButton(axis, true), currentPlusState ? ButtonState.PRESS : ButtonState.RELEASE);
-                if (currentPlusState)
-                    BUTTON_COOLDOWNS.put(axisAsButton(axis, true), 5);
-            } else if (currentPlusState) {
-                InputManager.STATES.put(axisAsButton(axis, true), ButtonState.REPEAT);
-                if (BUTTON_COOLDOWNS.getOrDefault(axisAsButton(axis, true), 0) == 0) {
-                    BUTTON_COOLDOWNS.put(axisAsButton(axis, true), 5);
-                }
-            }
-
-            if (currentMinusState != previousMinusState.isPressed()) {
-                InputManager.STATES.put(axisAsButton(axis, false), currentMinusState ? ButtonState.PRESS : ButtonState.RELEASE);
-                if (currentMinusState)
-                    BUTTON_COOLDOWNS.put(axisAsButton(axis, false), 5);
-            } else if (currentMinusState) {
-                InputManager.STATES.put(axisAsButton(axis, false), ButtonState.REPEAT);
-                if (BUTTON_COOLDOWNS.getOrDefault(axisAsButton(axis, false), 0) == 0) {
-                    BUTTON_COOLDOWNS.put(axisAsButton(axis, false), 5);
-                }
-            }
-        }
-
-        double deadZone = this.config.getDeadZone();
-
         if (client.currentScreen instanceof ControllerControlsScreen) {
             ControllerControlsScreen screen = (ControllerControlsScreen) client.currentScreen;
             if (screen.focusedBinding != null) {
@@ -414,34 +530,24 @@ public class LambdaInput
                 }
                 return;
             }
-        } else if (client.currentScreen instanceof CreativeInventoryScreen) {
-            if (axis == GLFW_GAMEPAD_AXIS_RIGHT_Y) {
-                CreativeInventoryScreen screen = (CreativeInventoryScreen) client.currentScreen;
-                CreativeInventoryScreenAccessor accessor = (CreativeInventoryScreenAccessor) screen;
-                if (accessor.lambdacontrols_hasScrollbar() && absValue >= deadZone) {
-                    screen.mouseScrolled(0.0, 0.0, -value);
-                }
-                return;
-            }
-        } else if (client.currentScreen instanceof AdvancementsScreen) {
-            if (axis == GLFW_GAMEPAD_AXIS_RIGHT_X || axis == GLFW_GAMEPAD_AXIS_RIGHT_Y) {
-                AdvancementsScreen screen = (AdvancementsScreen) client.currentScreen;
-                AdvancementsScreenAccessor accessor = (AdvancementsScreenAccessor) screen;
-                if (absValue >= deadZone) {
-                    AdvancementTab tab = accessor.getSelectedTab();
-                    tab.move(axis == GLFW_GAMEPAD_AXIS_RIGHT_X ? -value * 5.0 : 0.0, axis == GLFW_GAMEPAD_AXIS_RIGHT_Y ? -value * 5.0 : 0.0);
-                }
+        } else if (client.currentScreen != null) {
+            ScreenHandlerRegistry.ScrollHandler<Screen> handler = ScreenHandlerRegistry.get(client.currentScreen).getScrollHandler();
+            if (handler != null && handler.scroll(this, client.currentScreen, axis, processed))
                 return;
-            }
         }
 
         if (client.currentScreen == null) {
-            // Handles the look direction.
-            this.handleLook(client, axis, (float) (absValue / (1.0 - this.config.getDeadZone())), state);
+            // Handles the look direction, unless it is done on each frame.
+            if (!this.config.hasFrameRateLook()) {
+                if (axis == GLFW_GAMEPAD_AXIS_RIGHT_X)
+                    this.applyLook(client, axis, Math.abs(this.sticks.getLookX()), state);
+                else if (axis == GLFW_GAMEPAD_AXIS_RIGHT_Y)
+                    this.applyLook(client, axis, Math.abs(this.sticks.getLookY()), state);
+            }
         } else {
             boolean allowMouseControl = true;
 
-            if (this.actionGuiCooldown == 0 && this.config.isMovementAxis(axis) && isScreenInteractive(client.currentScreen)) {
+            if (InputManager.COOLDOWNS.isReady(this.actionGuiCooldown) && this.config.isMovementAxis(axis) && isScreenInteractive(client.currentScreen)) {
                 if (this.config.isForwardButton(axis, false, asButtonState)) {
                     allowMouseControl = this.changeFocus(client.currentScreen, false);
                 } else if (this.config.isBackButton(axis, false, asButtonState)) {
@@ -455,6 +561,7 @@ public class LambdaInput
 
             float movementX = 0.0F;
             float movementY = 0.0F;
+            float absValue = Math.abs(processed);
 
             if (this.config.isBackButton(axis, false, (value > 0 ? 1 : 2))) {
                 movementY = absValue;
@@ -466,26 +573,21 @@ public class LambdaInput
                 movementX = absValue;
             }
 
-            if (client.currentScreen != null && allowMouseControl) {
-                boolean moving = Math.abs(movementY) >= deadZone || Math.abs(movementX) >= deadZone;
+            // The frame rate cursor reads the stick on each frame.
+            if (client.currentScreen != null && allowMouseControl && !this.config.hasFrameRateCursor()) {
+                // The processed values are 0 in the dead zone.
+                boolean moving = movementY != 0.F || movementX != 0.F;
                 if (moving) {
                 /*
                     Updates the target mouse position when the initial movement stick movement is detected.
                     It prevents the cursor to jump to the old target mouse position if the user moves the cursor with the mouse.
                  */
-                    if (Math.abs(prevXAxis) < deadZone && Math.abs(prevYAxis) < deadZone) {
+                    if (prevXAxis == 0.F && prevYAxis == 0.F) {
                         INPUT_MANAGER.resetMouseTarget(client);
                     }
 
-                    if (Math.abs(movementX) >= deadZone)
-                        this.mouseSpeedX = movementX;
-                    else
-                        this.mouseSpeedX = 0.F;
-
-                    if (Math.abs(movementY) >= deadZone)
-                        this.mouseSpeedY = movementY;
-                    else
-                        this.mouseSpeedY = 0.F;
+                    this.mouseSpeedX = movementX;
+                    this.mouseSpeedY = movementY;
                 } else {
                     this.mouseSpeedX = 0.F;
                     this.mouseSpeedY = 0.F;
@@ -505,31 +607,8 @@ public class LambdaInput
 
     private boolean handleAButton(@NotNull Screen screen, @NotNull Element focused)
     {
-        if (focused instanceof AbstractPressableButtonWidget) {
-            AbstractPressableButtonWidget widget = (AbstractPressableButtonWidget) focused;
-            widget.playDownSound(MinecraftClient.getInstance().getSoundManager());
-            widget.onPress();
-            return true;
-        } else if (focused instanceof SpruceLabelWidget) {
-            ((SpruceLabelWidget) focused).onPress();
-            return true;
-        } else if (focused instanceof WorldListWidget) {
-            WorldListWidget list = (WorldListWidget) focused;
-            list.method_20159().ifPresent(WorldListWidget.Entry::play);
-            return true;
-        } else if (focused instanceof MultiplayerServerListWidget) {
-            MultiplayerServerListWidget list = (MultiplayerServerListWidget) focused;
-            MultiplayerServerListWidget.Entry entry = list.getSelected();
-            if (entry instanceof MultiplayerServerListWidget.LanServerEntry || entry instanceof MultiplayerServerListWidget.ServerEntry) {
-                ((MultiplayerScreen) screen).select(entry);
-                ((MultiplayerScreen) screen).connect();
-            }
-        } else if (focused instanceof ParentElement) {
-            Element childFocused = ((ParentElement) focused).getFocused();
-            if (childFocused != null)
-                return this.handleAButton(screen, childFocused);
-        }
-        return false;
+        ScreenHandlerRegistry.PressHandler<Element> handler = ScreenHandlerRegistry.get(focused).getPressHandler();
+        return handler != null && handler.press(this, screen, focused);
     }
 
     /**
@@ -549,22 +628,8 @@ public class LambdaInput
 
     private boolean handleRightLeftElement(@NotNull Element element, boolean right)
     {
-        if (element instanceof SliderWidget) {
-            SliderWidget slider = (SliderWidget) element;
-            slider.keyPressed(right ? 262 : 263, 0, 0);
-            this.actionGuiCooldown = 2; // Prevent to press too quickly the focused element, so we have to skip 5 ticks.
-            return false;
-        } else if (element instanceof AlwaysSelectedEntryListWidget) {
-            ((EntryListWidgetAccessor) element).lambdacontrols_moveSelection(right ? 1 : -1);
-            return false;
-        } else if (element instanceof ParentElement) {
-            ParentElement entryList = (ParentElement) element;
-            Element focused = entryList.getFocused();
-            if (focused == null)
-                return true;
-            return this.handleRightLeftElement(focused, right);
-        }
-        return true;
+        ScreenHandlerRegistry.LeftRightHandler<Element> handler = ScreenHandlerRegistry.get(element).getLeftRightHandler();
+        return handler == null || handler.handle(this, element, right);
     }
 
     /**
@@ -576,46 +641,85 @@ public class LambdaInput
      * @param state  The state.
      */
     public void handleLook(@NotNull MinecraftClient client, int axis, float value, int state)
+    {
+        this.applyLook(client, axis, Math.pow(value, 4.0), state);
+    }
+
+    /**
+     * Handles the look direction input with the intensity after the response curve.
+     *
+     * @param client   The client instance.
+     * @param axis     The axis to change.
+     * @param powValue The intensity of the look.
+     * @param state    The state.
+     */
+    private void applyLook(@NotNull MinecraftClient client, int axis, double powValue, int state)
     {
         // Handles the look direction.
         if (client.player != null) {
-            double powValue = Math.pow(value, 4.0);
+            LambdaControlsConfig.Snapshot config = this.config.getSnapshot();
             if (axis == GLFW_GAMEPAD_AXIS_RIGHT_Y) {
                 if (state == 2) {
-                    this.targetPitch = client.player.pitch - this.config.getRightYAxisSign() * (this.config.getRotationSpeed() * powValue) * 0.33D;
+                    this.targetPitch = client.player.pitch - config.rightYAxisSign * (config.rotationSpeed * powValue) * 0.33D;
                     this.targetPitch = MathHelper.clamp(this.targetPitch, -90.0D, 90.0D);
                 } else if (state == 1) {
-                    this.targetPitch = client.player.pitch + this.config.getRightYAxisSign() * (this.config.getRotationSpeed() * powValue) * 0.33D;
+                    this.targetPitch = client.player.pitch + config.rightYAxisSign * (config.rotationSpeed * powValue) * 0.33D;
                     this.targetPitch = MathHelper.clamp(this.targetPitch, -90.0D, 90.0D);
                 }
             }
             if (axis == GLFW_GAMEPAD_AXIS_RIGHT_X) {
                 if (state == 2) {
-                    this.targetYaw = client.player.yaw - this.config.getRightXAxisSign() * (this.config.getRotationSpeed() * powValue) * 0.33D;
+                    this.targetYaw = client.player.yaw - config.rightXAxisSign * (config.rotationSpeed * powValue) * 0.33D;
                 } else if (state == 1) {
-                    this.targetYaw = client.player.yaw + this.config.getRightXAxisSign() * (this.config.getRotationSpeed() * powValue) * 0.33D;
+                    this.targetYaw = client.player.yaw + config.rightXAxisSign * (config.rotationSpeed * powValue) * 0.33D;
                 }
             }
         }
     }
 
+    /**
+     * Handles the look direction from the right stick for one frame.
+     * <p>
+     * The angular velocity is the same as the tick look: the rotation of {@link #handleLook(MinecraftClient, int, float, int)} per tick.
+     *
+     * @param client    The client instance.
+     * @param frameTime The time elapsed since the last frame in seconds.
+     */
+    private void handleFrameLook(@NotNull MinecraftClient client, double frameTime)
+    {
+        LambdaControlsConfig.Snapshot config = this.config.getSnapshot();
+        if (frameTime <= 0.0 || !config.controller.isGamepad() || !GLFW.glfwGetGamepadState(config.controller.getId(), this.frameState))
+            return;
+        this.sticks.process(config, this.frameState);
+        double ticks = frameTime * 20.0;
+        double deltaYaw = config.rightXAxisSign * config.rotationSpeed * this.sticks.getLookX() * 0.33D * ticks;
+        double deltaPitch = config.rightYAxisSign * config.rotationSpeed * this.sticks.getLookY() * 0.33D * ticks;
+        if (deltaYaw == 0.0 && deltaPitch == 0.0)
+            return;
+        // Moves the current and previous rotations together, the pitch is clamped like the mouse look.
+        client.player.changeLookDirection(deltaYaw / 0.15, deltaPitch / 0.15);
+        client.getTutorialManager().onUpdateMouse(deltaPitch, deltaYaw);
+    }
+
     private boolean changeFocus(@NotNull Screen screen, boolean down)
     {
         if (!screen.changeFocus(down)) {
             if (screen.changeFocus(down)) {
-                this.actionGuiCooldown = 5;
+                InputManager.COOLDOWNS.arm(this.actionGuiCooldown, 5);
                 return false;
             }
             return true;
         } else {
-            this.actionGuiCooldown = 5;
+            InputManager.COOLDOWNS.arm(this.actionGuiCooldown, 5);
             return false;
         }
     }
 
+    @SuppressWarnings("deprecation")
     private static boolean isScreenInteractive(@NotNull Screen screen)
     {
-        return !(screen instanceof AdvancementsScreen || screen instanceof ContainerScreen || LambdaControlsCompat.requireMouseOnScreen(screen));
+        // Also consults the compatibility handlers still overriding the deprecated method, until its removal.
+        return !LambdaControlsCompat.requireMouseOnScreen(screen);
     }
 
     // Inspired from https://github.com/MrCrayfish/Controllable/blob/1.14.X/src/main/java/com/mrcrayfish/controllable/client/ControllerInput.java#L686.
@@ -631,22 +735,14 @@ public class LambdaInput
             int mouseY = (int) (targetMouseY * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight());
 
             // Finds the closest slot in the GUI within 14 pixels.
-            Optional<Pair<Slot, Double>> closestSlot = inventoryScreen.getContainer().slots.parallelStream()
-                    .map(slot -> {
-                        int x = guiLeft + slot.xPosition + 8;
-                        int y = guiTop + slot.yPosition + 8;
-
-                        // Distance between the slot and the cursor.
-                        double distance = Math.sqrt(Math.pow(x - mouseX, 2) + Math.pow(y - mouseY, 2));
-                        return Pair.of(slot, distance);
-                    }).filter(entry -> entry.value <= 14.0)
-                    .min(Comparator.comparingDouble(p -> p.value));
-
-            if (closestSlot.isPresent()) {
-                Slot slot = closestSlot.get().key;
+            SlotGrid grid = accessor.lambdacontrols_getSlotGrid();
+            int closestSlot = grid.findNearest(mouseX - guiLeft, mouseY - guiTop, 14);
+
+            if (closestSlot != -1) {
+                Slot slot = grid.getSlot(closestSlot);
                 if (slot.hasStack() || !client.player.inventory.getMainHandStack().isEmpty()) {
-                    int slotCenterXScaled = guiLeft + slot.xPosition + 8;
-                    int slotCenterYScaled = guiTop + slot.yPosition + 8;
+                    int slotCenterXScaled = guiLeft + grid.getCenterX(closestSlot);
+                    int slotCenterYScaled = guiTop + grid.getCenterY(closestSlot);
                     int slotCenterX = (int) (slotCenterXScaled / ((double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth()));
                     int slotCenterY = (int) (slotCenterYScaled / ((double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight()));
                     double deltaX = slotCenterX - targetMouseX;
@@ -10,11 +10,14 @@
 package me.lambdaurora.lambdacontrols.client.compat;
 
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
+import me.lambdaurora.lambdacontrols.client.controller.ScreenHandlerRegistry;
 import net.minecraft.client.gui.screen.Screen;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a compatibility handler for a mod.
+ * <p>
+ * The screens of the mod are registered in the {@link ScreenHandlerRegistry} when handled.
  *
  * @author LambdAurora
  * @version 1.2.0
@@ -33,8 +36,11 @@ public interface CompatHandler
      * Returns whether the mouse is required on the specified screen.
      *
      * @param screen The screen.
-     * @return True if the mouse is requried on the specified screen, else false.
+     * @return True if the mouse is required on the specified screen, else false.
+     * @deprecated Register the screen with {@link ScreenHandlerRegistry#registerMouseScreen(Class)} instead.
+     * The overrides are still consulted with the registry until the removal in the next release.
      */
+    @Deprecated
     default boolean requireMouseOnScreen(Screen screen)
     {
         return false;
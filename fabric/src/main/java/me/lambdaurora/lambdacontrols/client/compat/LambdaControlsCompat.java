@@ -11,6 +11,7 @@ package me.lambdaurora.lambdacontrols.client.compat;
 
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
 import me.lambdaurora.lambdacontrols.client.controller.InputManager;
+import me.lambdaurora.lambdacontrols.client.controller.ScreenHandlerRegistry;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.gui.screen.Screen;
 import org.aperlambda.lambdacommon.utils.LambdaReflection;
@@ -23,7 +24,7 @@ import java.util.List;
  * Represents a compatibility handler.
  *
  * @author LambdAurora
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.1.0
  */
 public class LambdaControlsCompat
@@ -51,13 +52,24 @@ public class LambdaControlsCompat
 
     /**
      * Returns whether the mouse is required on the specified screen.
+     * <p>
+     * The screen requires the mouse if it's not interactive in the {@link ScreenHandlerRegistry},
+     * or if a compatibility handler still requires it with {@link CompatHandler#requireMouseOnScreen(Screen)}.
      *
      * @param screen The screen.
-     * @return True if the mouse is requried on the specified screen, else false.
+     * @return True if the mouse is required on the specified screen, else false.
+     * @deprecated Use {@link ScreenHandlerRegistry#get(net.minecraft.client.gui.Element)} instead. To be removed in the next release.
      */
+    @Deprecated
     public static boolean requireMouseOnScreen(Screen screen)
     {
-        return HANDLERS.stream().anyMatch(handler -> handler.requireMouseOnScreen(screen));
+        if (!ScreenHandlerRegistry.get(screen).isInteractive())
+            return true;
+        for (CompatHandler handler : HANDLERS) {
+            if (handler.requireMouseOnScreen(screen))
+                return true;
+        }
+        return false;
     }
 
     /**
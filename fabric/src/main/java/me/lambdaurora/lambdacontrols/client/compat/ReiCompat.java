@@ -9,7 +9,6 @@
 
 package me.lambdaurora.lambdacontrols.client.compat;
 
-import me.lambdaurora.lambdacontrols.client.ButtonState;
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
 import me.lambdaurora.lambdacontrols.client.compat.mixin.RecipeViewingScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.compat.mixin.VillagerRecipeViewingScreenAccessor;
@@ -17,6 +16,9 @@ import me.lambdaurora.lambdacontrols.client.controller.ButtonBinding;
 import me.lambdaurora.lambdacontrols.client.controller.InputHandlers;
 import me.lambdaurora.lambdacontrols.client.controller.InputManager;
 import me.lambdaurora.lambdacontrols.client.controller.PressAction;
+import me.lambdaurora.lambdacontrols.client.controller.ScreenHandlerRegistry;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
+import me.lambdaurora.lambdacontrols.input.InputContext;
 import me.shedaniel.rei.api.RecipeCategory;
 import me.shedaniel.rei.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.gui.RecipeViewingScreen;
@@ -48,15 +50,20 @@ public class ReiCompat implements CompatHandler
     @Override
     public void handle(@NotNull LambdaControlsClient mod)
     {
+        ScreenHandlerRegistry.registerMouseScreen(RecipeViewingScreen.class);
+        ScreenHandlerRegistry.registerMouseScreen(VillagerRecipeViewingScreen.class);
+
         InputManager.registerBinding(new ButtonBinding.Builder(new Identifier("rei", "category_back"))
                 .buttons(GLFW_GAMEPAD_BUTTON_LEFT_BUMPER)
                 .filter((client, binding) -> isViewingScreen(client.currentScreen))
+                .contexts(InputContext.SCREEN)
                 .action(handleTab(false))
                 .cooldown(true)
                 .build());
         InputManager.registerBinding(new ButtonBinding.Builder(new Identifier("rei", "category_next"))
                 .buttons(GLFW_GAMEPAD_BUTTON_RIGHT_BUMPER)
                 .filter((client, binding) -> isViewingScreen(client.currentScreen))
+                .contexts(InputContext.SCREEN)
                 .action(handleTab(true))
                 .cooldown(true)
                 .build());
@@ -64,12 +71,14 @@ public class ReiCompat implements CompatHandler
         InputManager.registerBinding(new ButtonBinding.Builder(new Identifier("rei", "page_back"))
                 .buttons(ButtonBinding.axisAsButton(GLFW_GAMEPAD_AXIS_RIGHT_X, false))
                 .filter((client, binding) -> InputHandlers.inInventory(client, binding) || isViewingScreen(client.currentScreen))
+                .contexts(InputContext.INVENTORY, InputContext.SCREEN)
                 .action(handlePage(false))
                 .cooldown(true)
                 .build());
         InputManager.registerBinding(new ButtonBinding.Builder(new Identifier("rei", "page_next"))
                 .buttons(ButtonBinding.axisAsButton(GLFW_GAMEPAD_AXIS_RIGHT_X, true))
                 .filter((client, binding) -> InputHandlers.inInventory(client, binding) || isViewingScreen(client.currentScreen))
+                .contexts(InputContext.INVENTORY, InputContext.SCREEN)
                 .action(handlePage(true))
                 .cooldown(true)
                 .build());
@@ -78,6 +87,7 @@ public class ReiCompat implements CompatHandler
         InputManager.registerBinding(new ButtonBinding.Builder(new Identifier("rei", "show_usage"))
                 .buttons(GLFW_GAMEPAD_BUTTON_RIGHT_THUMB)
                 .filter((client, binding) -> InputHandlers.inInventory(client, binding) || isViewingScreen(client.currentScreen))
+                .contexts(InputContext.INVENTORY, InputContext.SCREEN)
                 .action((client, button, action) -> {
                     if (action != ButtonState.RELEASE)
                         return false;
@@ -95,12 +105,6 @@ public class ReiCompat implements CompatHandler
                 .build());
     }
 
-    @Override
-    public boolean requireMouseOnScreen(Screen screen)
-    {
-        return isViewingScreen(screen);
-    }
-
     private static boolean isViewingScreen(Screen screen)
     {
         return screen instanceof RecipeViewingScreen || screen instanceof VillagerRecipeViewingScreen;
@@ -9,7 +9,10 @@
 
 package me.lambdaurora.lambdacontrols.client.controller;
 
-import me.lambdaurora.lambdacontrols.client.ButtonState;
+import me.lambdaurora.lambdacontrols.input.ButtonCodes;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
+import me.lambdaurora.lambdacontrols.input.InputBinding;
+import me.lambdaurora.lambdacontrols.input.InputContext;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.options.GameOptions;
 import net.minecraft.client.options.KeyBinding;
@@ -31,11 +34,30 @@ import static org.lwjgl.glfw.GLFW.*;
  * Represents a button binding.
  *
  * @author LambdAurora
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.0.0
  */
-public class ButtonBinding implements Nameable
+public class ButtonBinding extends InputBinding implements Nameable
 {
+    /**
+     * The span of the button codes of one device.
+     *
+     * @see ButtonCodes#DEVICE_STRIDE
+     */
+    public static final int DEVICE_STRIDE = ButtonCodes.DEVICE_STRIDE;
+    /**
+     * The maximum count of devices.
+     *
+     * @see ButtonCodes#MAX_DEVICES
+     */
+    public static final int MAX_DEVICES   = ButtonCodes.MAX_DEVICES;
+    /**
+     * The device index of the button codes which match the button of any device.
+     *
+     * @see ButtonCodes#ANY_DEVICE
+     */
+    public static final int ANY_DEVICE    = ButtonCodes.ANY_DEVICE;
+
     public static final ButtonCategory MOVEMENT_CATEGORY;
     public static final ButtonCategory GAMEPLAY_CATEGORY;
     public static final ButtonCategory INVENTORY_CATEGORY;
@@ -74,9 +96,11 @@ public class ButtonBinding implements Nameable
     public static final ButtonBinding SPRINT             = new Builder("sprint").buttons(GLFW_GAMEPAD_BUTTON_LEFT_THUMB).register();
     public static final ButtonBinding SWAP_HANDS         = new Builder("swap_hands").buttons(GLFW_GAMEPAD_BUTTON_X).cooldown(true).register();
     public static final ButtonBinding TAB_LEFT           = new Builder("tab_back").buttons(GLFW_GAMEPAD_BUTTON_LEFT_BUMPER)
-            .action(InputHandlers.handleHotbar(false)).filter(Predicates.or(InputHandlers::inInventory, InputHandlers::inAdvancements)).cooldown(true).register();
+            .action(InputHandlers.handleHotbar(false)).filter(Predicates.or(InputHandlers::inInventory, InputHandlers::inAdvancements))
+            .contexts(InputContext.INVENTORY, InputContext.ADVANCEMENTS).cooldown(true).register();
     public static final ButtonBinding TAB_RIGHT          = new Builder("tab_next").buttons(GLFW_GAMEPAD_BUTTON_RIGHT_BUMPER)
-            .action(InputHandlers.handleHotbar(true)).filter(Predicates.or(InputHandlers::inInventory, InputHandlers::inAdvancements)).cooldown(true).register();
+            .action(InputHandlers.handleHotbar(true)).filter(Predicates.or(InputHandlers::inInventory, InputHandlers::inAdvancements))
+            .contexts(InputContext.INVENTORY, InputContext.ADVANCEMENTS).cooldown(true).register();
     public static final ButtonBinding TOGGLE_PERSPECTIVE = new Builder("toggle_perspective").buttons(GLFW_GAMEPAD_BUTTON_DPAD_UP, GLFW_GAMEPAD_BUTTON_Y).cooldown(true).register();
     public static final ButtonBinding USE                = new Builder("use").buttons(axisAsButton(GLFW_GAMEPAD_AXIS_LEFT_TRIGGER, true)).register();
 
@@ -87,8 +111,16 @@ public class ButtonBinding implements Nameable
     protected PairPredicate<MinecraftClient, ButtonBinding> filter;
     private   List<PressAction>                             actions      = new ArrayList<>(Collections.singletonList(PressAction.DEFAULT_ACTION));
     private   boolean                                       hasCooldown;
-    private   int                                           cooldown     = 0;
-    boolean pressed = false;
+    private   int                                           cooldownSlot = -1;
+    // The mask of the input contexts in which this binding can be active.
+    private   int                                           contexts     = InputContext.ALL;
+    // Whether the filter must be tested, false if it only checks the input contexts.
+    private   boolean                                       testFilter   = true;
+    // The registration order in the registry, -1 if not registered.
+    int                       order   = -1;
+    // The keys of this binding in the conflicts index.
+    InputManager.ButtonSetKey buttonSetKey;
+    InputManager.ButtonSetKey conflictKey;
 
     public ButtonBinding(@NotNull String key, int[] defaultButton, @NotNull List<PressAction> actions, PairPredicate<MinecraftClient, ButtonBinding> filter, boolean hasCooldown)
     {
@@ -97,6 +129,8 @@ public class ButtonBinding implements Nameable
         this.filter = filter;
         this.actions.addAll(actions);
         this.hasCooldown = hasCooldown;
+        if (hasCooldown)
+            this.cooldownSlot = InputManager.COOLDOWNS.allocate();
     }
 
     public ButtonBinding(@NotNull String key, int[] defaultButton, boolean hasCooldown)
@@ -109,6 +143,7 @@ public class ButtonBinding implements Nameable
      *
      * @return The bound button.
      */
+    @Override
     public int[] getButton()
     {
         return this.button;
@@ -121,10 +156,11 @@ public class ButtonBinding implements Nameable
      */
     public void setButton(int[] button)
     {
+        int previousLength = this.button == null ? -1 : this.button.length;
         this.button = button;
 
         if (InputManager.hasBinding(this))
-            InputManager.sortBindings();
+            InputManager.onBindingChanged(this, previousLength);
     }
 
     /**
@@ -138,16 +174,6 @@ public class ButtonBinding implements Nameable
         return InputManager.areButtonsEquivalent(button, this.button);
     }
 
-    /**
-     * Returns whether this button is down or not.
-     *
-     * @return True if the button is down, else false.
-     */
-    public boolean isButtonDown()
-    {
-        return this.pressed;
-    }
-
     /**
      * Returns whether this button binding is bound or not.
      *
@@ -213,12 +239,48 @@ public class ButtonBinding implements Nameable
     }
 
     /**
-     * Updates the button binding cooldown.
+     * Returns whether the button binding is available in the specified input context.
+     *
+     * @param client  The client instance.
+     * @param context The input context.
+     * @return True if the button binding is available, else false.
+     */
+    public boolean isAvailable(@NotNull MinecraftClient client, @NotNull InputContext context)
+    {
+        return this.isInContext(context) && (!this.testFilter || this.filter.test(client, this));
+    }
+
+    /**
+     * Returns whether the button binding can be active in the specified input context.
+     *
+     * @param context The input context.
+     * @return True if the button binding can be active in the context, else false.
+     */
+    @Override
+    public boolean isInContext(@NotNull InputContext context)
+    {
+        return (this.contexts & context.getMask()) != 0;
+    }
+
+    /**
+     * Gets the mask of the input contexts in which this binding can be active.
+     *
+     * @return The mask of input contexts.
+     * @see InputContext#getMask()
+     */
+    public int getContexts()
+    {
+        return this.contexts;
+    }
+
+    /**
+     * Returns whether this button binding is cooling down or not.
+     *
+     * @return True if this button binding is cooling down, else false.
      */
-    public void update()
+    public boolean isCoolingDown()
     {
-        if (this.hasCooldown && this.cooldown > 0)
-            this.cooldown--;
+        return this.hasCooldown && !InputManager.COOLDOWNS.isReady(this.cooldownSlot);
     }
 
     /**
@@ -229,12 +291,10 @@ public class ButtonBinding implements Nameable
      */
     public void handle(@NotNull MinecraftClient client, @NotNull ButtonState state)
     {
-        if (state == ButtonState.REPEAT && this.hasCooldown && this.cooldown != 0)
+        if (state == ButtonState.REPEAT && this.isCoolingDown())
             return;
-        if (this.hasCooldown && state.isPressed()) {
-            this.cooldown = 5;
-
-        }
+        if (this.hasCooldown && state.isPressed())
+            InputManager.COOLDOWNS.arm(this.cooldownSlot, 5);
         for (int i = this.actions.size() - 1; i >= 0; i--) {
             if (this.actions.get(i).press(client, this, state))
                 break;
@@ -278,7 +338,7 @@ public class ButtonBinding implements Nameable
      */
     public static int axisAsButton(int axis, boolean positive)
     {
-        return positive ? 100 + axis : 200 + axis;
+        return ButtonCodes.axisAsButton(axis, positive);
     }
 
     /**
@@ -289,7 +349,41 @@ public class ButtonBinding implements Nameable
      */
     public static int controller2Button(int button)
     {
-        return 500 + button;
+        return deviceButton(1, button);
+    }
+
+    /**
+     * Returns the button code of the specified raw button on the specified device.
+     *
+     * @param device The device index, or {@link #ANY_DEVICE}.
+     * @param button The raw button code.
+     * @return The button code.
+     */
+    public static int deviceButton(int device, int button)
+    {
+        return ButtonCodes.deviceButton(device, button);
+    }
+
+    /**
+     * Gets the device index of the specified button code.
+     *
+     * @param button The button code.
+     * @return The device index, or {@link #ANY_DEVICE}.
+     */
+    public static int getDevice(int button)
+    {
+        return ButtonCodes.getDevice(button);
+    }
+
+    /**
+     * Gets the raw button code of the specified button code, without its device.
+     *
+     * @param button The button code.
+     * @return The raw button code.
+     */
+    public static int getRawButton(int button)
+    {
+        return ButtonCodes.getRawButton(button);
     }
 
     public static void init(@NotNull GameOptions options)
@@ -323,7 +417,7 @@ public class ButtonBinding implements Nameable
     public static @NotNull
     String getLocalizedButtonName(int button)
     {
-        switch (button % 500) {
+        switch (getRawButton(button)) {
             case -1:
                 return I18n.translate("key.keyboard.unknown");
             case GLFW_GAMEPAD_BUTTON_A:
@@ -415,18 +509,20 @@ public class ButtonBinding implements Nameable
      * Represents a quick {@link ButtonBinding} builder.
      *
      * @author LambdAurora
-     * @version 1.1.0
+     * @version 1.2.0
      * @since 1.1.0
      */
     public static class Builder
     {
         private final String                                        key;
-        private       int[]                                         buttons   = new int[0];
-        private       List<PressAction>                             actions   = new ArrayList<>();
-        private       PairPredicate<MinecraftClient, ButtonBinding> filter    = Predicates.pairAlwaysTrue();
-        private       boolean                                       cooldown  = false;
-        private       ButtonCategory                                category  = null;
-        private       KeyBinding                                    mcBinding = null;
+        private       int[]                                         buttons      = new int[0];
+        private       List<PressAction>                             actions      = new ArrayList<>();
+        private       PairPredicate<MinecraftClient, ButtonBinding> filter       = Predicates.pairAlwaysTrue();
+        private       boolean                                       customFilter = false;
+        private       int                                           contexts     = InputContext.ALL;
+        private       boolean                                       cooldown     = false;
+        private       ButtonCategory                                category     = null;
+        private       KeyBinding                                    mcBinding    = null;
 
         /**
          * This constructor shouldn't be used for other mods.
@@ -504,6 +600,21 @@ public class ButtonBinding implements Nameable
         public Builder filter(@NotNull PairPredicate<MinecraftClient, ButtonBinding> filter)
         {
             this.filter = filter;
+            this.customFilter = true;
+            return this;
+        }
+
+        /**
+         * Sets the input contexts in which the {@link ButtonBinding} can be active.
+         * <p>
+         * The binding is not visited in the other contexts, the filter still applies in these contexts.
+         *
+         * @param contexts The input contexts.
+         * @return The builder instance.
+         */
+        public Builder contexts(@NotNull InputContext... contexts)
+        {
+            this.contexts = InputContext.maskOf(contexts);
             return this;
         }
 
@@ -516,7 +627,10 @@ public class ButtonBinding implements Nameable
          */
         public Builder onlyInGame()
         {
-            return this.filter(InputHandlers::inGame);
+            this.filter(InputHandlers::inGame);
+            // The context is enough to know whether the binding is available.
+            this.customFilter = false;
+            return this.contexts(InputContext.IN_GAME);
         }
 
         /**
@@ -528,7 +642,10 @@ public class ButtonBinding implements Nameable
          */
         public Builder onlyInInventory()
         {
-            return this.filter(InputHandlers::inInventory);
+            this.filter(InputHandlers::inInventory);
+            // The context is enough to know whether the binding is available.
+            this.customFilter = false;
+            return this.contexts(InputContext.INVENTORY);
         }
 
         /**
@@ -575,6 +692,8 @@ public class ButtonBinding implements Nameable
         public ButtonBinding build()
         {
             ButtonBinding binding = new ButtonBinding(this.key, this.buttons, this.actions, this.filter, this.cooldown);
+            binding.contexts = this.contexts;
+            binding.testFilter = this.customFilter;
             if (this.category != null)
                 this.category.registerBinding(binding);
             if (this.mcBinding != null)
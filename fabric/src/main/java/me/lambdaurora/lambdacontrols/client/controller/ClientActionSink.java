@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.input.ActionSink;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
+import me.lambdaurora.lambdacontrols.input.InputContext;
+import me.lambdaurora.lambdacontrols.input.InputContextProvider;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.screen.advancement.AdvancementsScreen;
+import net.minecraft.client.gui.screen.ingame.ContainerScreen;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the adapter of the input engine to the client: the input context comes from the current screen
+ * and the resolved bindings are handled with the client instance.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class ClientActionSink implements ActionSink<ButtonBinding>, InputContextProvider
+{
+    private final MinecraftClient client;
+
+    public ClientActionSink(@NotNull MinecraftClient client)
+    {
+        this.client = client;
+    }
+
+    @Override
+    public boolean isAvailable(@NotNull ButtonBinding binding, @NotNull InputContext context)
+    {
+        return binding.isAvailable(this.client, context);
+    }
+
+    @Override
+    public void handle(@NotNull ButtonBinding binding, @NotNull ButtonState state)
+    {
+        binding.handle(this.client, state);
+    }
+
+    @Override
+    public @NotNull InputContext getInputContext()
+    {
+        return getInputContext(this.client.currentScreen);
+    }
+
+    /**
+     * Gets the input context of the specified screen.
+     *
+     * @param screen The current screen, may be null.
+     * @return The input context.
+     */
+    public static @NotNull InputContext getInputContext(@Nullable Screen screen)
+    {
+        if (screen == null)
+            return InputContext.IN_GAME;
+        else if (screen instanceof ContainerScreen)
+            return InputContext.INVENTORY;
+        else if (screen instanceof AdvancementsScreen)
+            return InputContext.ADVANCEMENTS;
+        return InputContext.SCREEN;
+    }
+}
@@ -14,33 +14,35 @@ import org.aperlambda.lambdacommon.utils.Nameable;
 import org.jetbrains.annotations.NotNull;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWGamepadState;
+import org.lwjgl.system.MemoryUtil;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.Buffer;
-import java.nio.ByteBuffer;
-import java.nio.channels.SeekableByteChannel;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-
-import static org.lwjgl.BufferUtils.createByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a controller.
  *
  * @author LambdAurora
- * @version 1.0.0
+ * @version 1.2.0
  * @since 1.0.0
  */
 public class Controller implements Nameable
 {
     private static final Map<Integer, Controller> CONTROLLERS = new HashMap<>();
+    // Connected controllers by GUID, the one with the highest identifier wins.
+    private static final Map<String, Controller>  BY_GUID     = new HashMap<>();
     private final        int                      id;
+    // Cached presence and metadata, only updated by refresh().
+    private              boolean                  cached        = false;
+    private              boolean                  connected     = false;
+    private              boolean                  gamepad       = false;
+    private              String                   guid          = "";
+    private              String                   name;
+    // Double-buffered input states, swapped on each poll.
+    private              GLFWGamepadState         state         = GLFWGamepadState.create();
+    private              GLFWGamepadState         previousState = GLFWGamepadState.create();
 
     public Controller(int id)
     {
@@ -64,8 +66,8 @@ public class Controller implements Nameable
      */
     public String getGuid()
     {
-        String guid = GLFW.glfwGetJoystickGUID(this.id);
-        return guid == null ? "" : guid;
+        this.ensureCached();
+        return this.guid;
     }
 
     /**
@@ -75,7 +77,8 @@ public class Controller implements Nameable
      */
     public boolean isConnected()
     {
-        return GLFW.glfwJoystickPresent(this.id);
+        this.ensureCached();
+        return this.connected;
     }
 
     /**
@@ -85,7 +88,8 @@ public class Controller implements Nameable
      */
     public boolean isGamepad()
     {
-        return this.isConnected() && GLFW.glfwJoystickIsGamepad(this.id);
+        this.ensureCached();
+        return this.gamepad;
     }
 
     /**
@@ -96,21 +100,72 @@ public class Controller implements Nameable
     @Override
     public @NotNull String getName()
     {
-        String name = this.isGamepad() ? GLFW.glfwGetGamepadName(this.id) : GLFW.glfwGetJoystickName(this.id);
-        return name == null ? String.valueOf(this.getId()) : name;
+        this.ensureCached();
+        return this.name;
+    }
+
+    private void ensureCached()
+    {
+        if (!this.cached) {
+            this.refresh();
+            rebuildGuidIndex();
+        }
+    }
+
+    /**
+     * Queries the presence and the metadata of this controller from GLFW.
+     */
+    private void refresh()
+    {
+        this.cached = true;
+        this.connected = GLFW.glfwJoystickPresent(this.id);
+        this.gamepad = this.connected && GLFW.glfwJoystickIsGamepad(this.id);
+        String guid = this.connected ? GLFW.glfwGetJoystickGUID(this.id) : null;
+        this.guid = guid == null ? "" : guid;
+        String name = this.gamepad ? GLFW.glfwGetGamepadName(this.id) : (this.connected ? GLFW.glfwGetJoystickName(this.id) : null);
+        this.name = name == null ? String.valueOf(this.id) : name;
+    }
+
+    /**
+     * Polls the state of the controller.
+     * <p>
+     * The current state becomes the previous state and the current state is filled again, no state is allocated.
+     * If the controller is not a gamepad, the current state is cleared.
+     */
+    public void poll()
+    {
+        GLFWGamepadState previous = this.previousState;
+        this.previousState = this.state;
+        this.state = previous;
+        if (!this.isGamepad() || !GLFW.glfwGetGamepadState(this.id, this.state))
+            MemoryUtil.memSet(this.state.address(), 0, GLFWGamepadState.SIZEOF);
     }
 
     /**
-     * Gets the state of the controller.
+     * Gets the state of the controller since the last poll.
+     * <p>
+     * The returned state is owned by this controller and is reused by the next polls.
      *
      * @return The state of the controller input.
+     * @see #poll()
+     */
+    public @NotNull GLFWGamepadState getState()
+    {
+        return this.state;
+    }
+
+    /**
+     * Gets the state of the controller before the last poll.
+     * <p>
+     * Compared with {@link #getState()}, it allows to detect button edges without copying the states.
+     * The returned state is owned by this controller and is reused by the next polls.
+     *
+     * @return The previous state of the controller input.
+     * @see #poll()
      */
-    public GLFWGamepadState getState()
+    public @NotNull GLFWGamepadState getPreviousState()
     {
-        GLFWGamepadState state = GLFWGamepadState.create();
-        if (this.isGamepad())
-            GLFW.glfwGetGamepadState(this.id, state);
-        return state;
+        return this.previousState;
     }
 
     public static @NotNull Controller byId(int id)
@@ -131,50 +186,57 @@ public class Controller implements Nameable
 
     public static @NotNull Optional<Controller> byGuid(@NotNull String guid)
     {
-        return CONTROLLERS.values().stream().filter(Controller::isConnected)
-                .filter(controller -> controller.getGuid().equals(guid))
-                .max(Comparator.comparingInt(Controller::getId));
+        return Optional.ofNullable(BY_GUID.get(guid));
+    }
+
+    /**
+     * Refreshes the cached presence and metadata of every joystick slot.
+     */
+    public static void refreshAll()
+    {
+        for (int id = GLFW.GLFW_JOYSTICK_1; id <= GLFW.GLFW_JOYSTICK_LAST; id++)
+            byId(id).refresh();
+        rebuildGuidIndex();
     }
 
     /**
-     * Reads the specified resource and returns the raw data as a ByteBuffer.
+     * Called on a joystick connection or disconnection, refreshes the cache of the joystick slot.
      *
-     * @param resource   The resource to read.
-     * @param bufferSize The initial buffer size.
-     * @return The resource data.
-     * @throws IOException If an IO error occurs.
+     * @param id    The joystick identifier.
+     * @param event The GLFW event.
      */
-    private static ByteBuffer ioResourceToBuffer(String resource, int bufferSize) throws IOException
+    public static void onJoystickEvent(int id, int event)
     {
-        ByteBuffer buffer = null;
+        Controller controller = byId(id);
+        controller.refresh();
+        rebuildGuidIndex();
+        // The mappings of a controller are only applied once it is connected.
+        if (event == GLFW.GLFW_CONNECTED && controller.isConnected() && MappingDatabase.onConnected(controller.getGuid()))
+            refreshAll();
+    }
 
-        Path path = Paths.get(resource);
-        if (Files.isReadable(path)) {
-            try (SeekableByteChannel fc = Files.newByteChannel(path)) {
-                buffer = createByteBuffer((int) fc.size() + 2);
-                while (fc.read(buffer) != -1) ;
-                buffer.put((byte) 0);
-            }
+    private static void rebuildGuidIndex()
+    {
+        BY_GUID.clear();
+        for (Controller controller : CONTROLLERS.values()) {
+            if (!controller.cached || !controller.connected || controller.guid.isEmpty())
+                continue;
+            Controller other = BY_GUID.get(controller.guid);
+            if (other == null || other.id < controller.id)
+                BY_GUID.put(controller.guid, controller);
         }
-
-        ((Buffer) buffer).flip(); // Force Java 8 >.<
-        return buffer;
     }
 
     /**
      * Updates the controller mappings.
+     * <p>
+     * The mappings file is read on a background thread, the mappings of the connected controllers are applied on the main thread
+     * and the others when their controller is connected.
+     *
+     * @return The future completed on the main thread once the mappings of the connected controllers are applied.
      */
-    public static void updateMappings()
-    {
-        try {
-            File mappingsFile = new File("config/gamecontrollerdb.txt");
-            if (!mappingsFile.exists())
-                return;
-            LambdaControlsClient.get().log("Updating controller mappings...");
-            ByteBuffer buffer = ioResourceToBuffer(mappingsFile.getPath(), 1024);
-            GLFW.glfwUpdateGamepadMappings(buffer);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public static @NotNull CompletableFuture<Void> updateMappings()
+    {
+        return MappingDatabase.reload();
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
+import me.lambdaurora.lambdacontrols.input.GamepadSource;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Represents the assigned and connected controllers as a source of the input engine.
+ * <p>
+ * The buttons are read from the {@link GamepadSampler} when it's enabled, and the axes are processed
+ * by the {@link StickProcessor} of each device.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class ControllerSource implements GamepadSource
+{
+    private final GamepadSampler   sampler;
+    private final StickProcessor[] sticks      = new StickProcessor[ButtonBinding.MAX_DEVICES];
+    private final int[]            devices     = new int[ButtonBinding.MAX_DEVICES];
+    private final Controller[]     controllers = new Controller[ButtonBinding.MAX_DEVICES];
+    private       int              count       = 0;
+    private       boolean          sampled     = false;
+
+    /**
+     * Creates a new source.
+     *
+     * @param sampler The gamepad sampler.
+     * @param sticks  The stick processor of the first device, also used for the look direction on each frame.
+     */
+    public ControllerSource(@NotNull GamepadSampler sampler, @NotNull StickProcessor sticks)
+    {
+        this.sampler = sampler;
+        this.sticks[0] = sticks;
+    }
+
+    /**
+     * Polls the assigned and connected controllers and processes their sticks.
+     *
+     * @param config The configuration.
+     */
+    public void poll(@NotNull LambdaControlsConfig config)
+    {
+        LambdaControlsConfig.Snapshot snapshot = config.getSnapshot();
+        this.sampled = config.hasSampler();
+        this.count = 0;
+        for (int i = 0; i < snapshot.getDeviceCount(); i++) {
+            Controller controller = snapshot.getDeviceController(i);
+            if (!controller.isConnected())
+                continue;
+            int device = snapshot.getDeviceIndex(i);
+            controller.poll();
+            // Each device has its own processor, so the look direction keeps the values of the first device.
+            this.getSticks(device).process(snapshot, controller.getState());
+            this.devices[this.count] = device;
+            this.controllers[this.count++] = controller;
+        }
+    }
+
+    private @NotNull StickProcessor getSticks(int device)
+    {
+        StickProcessor sticks = this.sticks[device];
+        if (sticks == null)
+            sticks = this.sticks[device] = new StickProcessor();
+        return sticks;
+    }
+
+    @Override
+    public int getDeviceCount()
+    {
+        return this.count;
+    }
+
+    @Override
+    public int getDeviceIndex(int device)
+    {
+        return this.devices[device];
+    }
+
+    @Override
+    public boolean isButtonPressed(int device, int button)
+    {
+        if (this.sampled)
+            return this.sampler.isPressed(ButtonBinding.deviceButton(this.devices[device], button));
+        return this.controllers[device].getState().buttons(button) == GLFW.GLFW_PRESS;
+    }
+
+    @Override
+    public boolean wasButtonPressed(int device, int button)
+    {
+        if (this.sampled)
+            return this.sampler.wasPressed(ButtonBinding.deviceButton(this.devices[device], button));
+        return this.controllers[device].getPreviousState().buttons(button) == GLFW.GLFW_PRESS;
+    }
+
+    @Override
+    public float getAxis(int device, int axis)
+    {
+        return this.controllers[device].getState().axes(axis);
+    }
+
+    @Override
+    public float getProcessedAxis(int device, int axis)
+    {
+        return this.sticks[this.devices[device]].getAxis(axis);
+    }
+}
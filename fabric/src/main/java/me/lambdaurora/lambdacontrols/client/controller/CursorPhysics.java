@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the physics of the GUI cursor moved by a stick, integrated on each frame.
+ * <p>
+ * The stick deflection gives a target velocity through the acceleration curve, the cursor velocity approaches it
+ * at the rate given by the friction, so the cursor glides to a stop when the stick is released.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class CursorPhysics
+{
+    // Below this speed in pixels per second the cursor stops.
+    private static final double STOP_SPEED = 1.0;
+
+    private double x         = 0.0;
+    private double y         = 0.0;
+    private double velocityX = 0.0;
+    private double velocityY = 0.0;
+
+    /**
+     * Returns whether the cursor is moving or not.
+     *
+     * @return True if the cursor is moving, else false.
+     */
+    public boolean isMoving()
+    {
+        return this.velocityX != 0.0 || this.velocityY != 0.0;
+    }
+
+    /**
+     * Moves the cursor to the specified position, used when the cursor is at rest to follow the other cursor moves.
+     *
+     * @param x The X coordinate in the window.
+     * @param y The Y coordinate in the window.
+     */
+    public void setPosition(double x, double y)
+    {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Stops the cursor.
+     */
+    public void stop()
+    {
+        this.velocityX = this.velocityY = 0.0;
+    }
+
+    /**
+     * Integrates the cursor motion over one frame.
+     *
+     * @param config    The configuration.
+     * @param stickX    The processed horizontal deflection of the stick.
+     * @param stickY    The processed vertical deflection of the stick.
+     * @param slowdown  The speed factor near a target, 1 if there is no target.
+     * @param frameTime The time elapsed since the last frame in seconds.
+     * @param width     The window width.
+     * @param height    The window height.
+     */
+    public void update(@NotNull LambdaControlsConfig.Snapshot config, float stickX, float stickY, double slowdown, double frameTime, int width, int height)
+    {
+        double targetX = 0.0;
+        double targetY = 0.0;
+        double magnitude = Math.sqrt(stickX * stickX + stickY * stickY);
+        if (magnitude > 0.0) {
+            // The mouse speed is in pixels per tick.
+            double speed = Math.pow(Math.min(1.0, magnitude), config.cursorAcceleration) * config.mouseSpeed * 20.0 * slowdown;
+            targetX = stickX / magnitude * speed;
+            targetY = stickY / magnitude * speed;
+        }
+
+        // Exponential approach of the target velocity, independent of the frame rate.
+        double blend = 1.0 - Math.exp(-config.cursorFriction * frameTime);
+        this.velocityX += (targetX - this.velocityX) * blend;
+        this.velocityY += (targetY - this.velocityY) * blend;
+        if (magnitude == 0.0 && Math.abs(this.velocityX) < STOP_SPEED && Math.abs(this.velocityY) < STOP_SPEED)
+            this.stop();
+
+        this.x = Math.max(0.0, Math.min(width, this.x + this.velocityX * frameTime));
+        this.y = Math.max(0.0, Math.min(height, this.y + this.velocityY * frameTime));
+    }
+
+    /**
+     * Gets the X coordinate of the cursor in the window.
+     *
+     * @return The X coordinate.
+     */
+    public double getX()
+    {
+        return this.x;
+    }
+
+    /**
+     * Gets the Y coordinate of the cursor in the window.
+     *
+     * @return The Y coordinate.
+     */
+    public double getY()
+    {
+        return this.y;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
+import me.lambdaurora.lambdacontrols.input.ButtonStates;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWGamepadState;
+
+import java.util.Arrays;
+
+/**
+ * Represents a gamepad sampler which polls the controllers buttons on each frame, so more often than the client tick.
+ * <p>
+ * Short presses happening between two ticks are latched: the button is seen pressed during one tick and released on the next one.
+ * <p>
+ * GLFW only allows joystick functions on the main thread, so the sampler is driven by the render loop.
+ * The configured rate is a cap: the controllers are sampled at most at that rate, and never more often than the frame rate.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class GamepadSampler
+{
+    private final GLFWGamepadState state      = GLFWGamepadState.create();
+    private       long             lastSample = 0L;
+    // The last sampled level of each button.
+    private final boolean[]        level      = new boolean[ButtonStates.CODE_SPACE];
+    private final boolean[]        sawPress   = new boolean[ButtonStates.CODE_SPACE];
+    private final boolean[]        sawRelease = new boolean[ButtonStates.CODE_SPACE];
+    private final boolean[]        pressed    = new boolean[ButtonStates.CODE_SPACE];
+    private final boolean[]        previous   = new boolean[ButtonStates.CODE_SPACE];
+    private final long[]           eventTimes = new long[ButtonStates.CODE_SPACE];
+
+    /**
+     * Samples the configured controllers if the sampling period elapsed.
+     *
+     * @param config The configuration.
+     */
+    public void onFrame(@NotNull LambdaControlsConfig config)
+    {
+        long now = System.nanoTime();
+        if (now - this.lastSample < 1_000_000_000L / config.getSamplerRate())
+            return;
+        this.sampleAll(config, now);
+    }
+
+    /**
+     * Samples the configured controllers and resolves the buttons states of this tick.
+     *
+     * @param config The configuration.
+     */
+    public void tick(@NotNull LambdaControlsConfig config)
+    {
+        this.sampleAll(config, System.nanoTime());
+        LambdaControlsConfig.Snapshot snapshot = config.getSnapshot();
+        for (int i = 0; i < snapshot.getDeviceCount(); i++)
+            this.resolve(ButtonBinding.deviceButton(snapshot.getDeviceIndex(i), 0));
+    }
+
+    private void sampleAll(@NotNull LambdaControlsConfig config, long now)
+    {
+        this.lastSample = now;
+        // Only the assigned and connected devices are sampled.
+        LambdaControlsConfig.Snapshot snapshot = config.getSnapshot();
+        for (int i = 0; i < snapshot.getDeviceCount(); i++) {
+            Controller controller = snapshot.getDeviceController(i);
+            int offset = ButtonBinding.deviceButton(snapshot.getDeviceIndex(i), 0);
+            // The state of a disconnected device is cleared, so it's not replayed when a controller is connected again.
+            if (!controller.isConnected() || !this.sample(controller, offset, now))
+                this.clear(offset);
+        }
+    }
+
+    private boolean sample(@NotNull Controller controller, int offset, long now)
+    {
+        if (!controller.isGamepad() || !GLFW.glfwGetGamepadState(controller.getId(), this.state))
+            return false;
+        for (int i = 0; i <= GLFW.GLFW_GAMEPAD_BUTTON_LAST; i++) {
+            int btn = offset + i;
+            boolean btnState = this.state.buttons(i) == GLFW.GLFW_PRESS;
+            if (btnState != this.level[btn]) {
+                this.level[btn] = btnState;
+                if (btnState)
+                    this.sawPress[btn] = true;
+                else
+                    this.sawRelease[btn] = true;
+                this.eventTimes[btn] = now;
+            }
+        }
+        return true;
+    }
+
+    private void clear(int offset)
+    {
+        int end = offset + GLFW.GLFW_GAMEPAD_BUTTON_LAST + 1;
+        Arrays.fill(this.level, offset, end, false);
+        Arrays.fill(this.sawPress, offset, end, false);
+        Arrays.fill(this.sawRelease, offset, end, false);
+        Arrays.fill(this.pressed, offset, end, false);
+        Arrays.fill(this.previous, offset, end, false);
+    }
+
+    private void resolve(int offset)
+    {
+        for (int btn = offset; btn <= offset + GLFW.GLFW_GAMEPAD_BUTTON_LAST; btn++) {
+            boolean wasPressed = this.pressed[btn];
+            this.previous[btn] = wasPressed;
+            // An edge seen since the last tick is kept for at least one tick.
+            if (wasPressed)
+                this.pressed[btn] = !this.sawRelease[btn] && this.level[btn];
+            else
+                this.pressed[btn] = this.sawPress[btn] || this.level[btn];
+            this.sawPress[btn] = false;
+            this.sawRelease[btn] = false;
+        }
+    }
+
+    /**
+     * Returns whether the specified button is pressed during this tick.
+     *
+     * @param button The button code.
+     * @return True if the button is pressed, else false.
+     */
+    public boolean isPressed(int button)
+    {
+        return ButtonStates.isValid(button) && this.pressed[button];
+    }
+
+    /**
+     * Returns whether the specified button was pressed during the previous tick.
+     *
+     * @param button The button code.
+     * @return True if the button was pressed, else false.
+     */
+    public boolean wasPressed(int button)
+    {
+        return ButtonStates.isValid(button) && this.previous[button];
+    }
+
+    /**
+     * Gets the time of the last edge of the specified button.
+     *
+     * @param button The button code.
+     * @return The time in nanoseconds as given by {@link System#nanoTime()}, or 0 if the button never changed.
+     */
+    public long getEventTime(int button)
+    {
+        return ButtonStates.isValid(button) ? this.eventTimes[button] : 0L;
+    }
+}
@@ -9,12 +9,12 @@
 
 package me.lambdaurora.lambdacontrols.client.controller;
 
-import me.lambdaurora.lambdacontrols.client.ButtonState;
 import me.lambdaurora.lambdacontrols.client.mixin.AdvancementsScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.mixin.CreativeInventoryScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.mixin.RecipeBookWidgetAccessor;
 import me.lambdaurora.lambdacontrols.client.util.ContainerScreenAccessor;
 import me.lambdaurora.lambdacontrols.client.util.KeyBindingAccessor;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.advancement.AdvancementTab;
 import net.minecraft.client.gui.screen.advancement.AdvancementsScreen;
@@ -25,13 +25,9 @@ import net.minecraft.client.gui.screen.recipebook.RecipeGroupButtonWidget;
 import net.minecraft.client.util.ScreenshotUtils;
 import net.minecraft.container.Slot;
 import net.minecraft.item.ItemGroup;
-import org.aperlambda.lambdacommon.utils.Pair;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -158,51 +154,15 @@ public class InputHandlers
             // Finds the hovered slot.
             Slot mouseSlot = accessor.lambdacontrols_getSlotAt(mouseX, mouseY);
 
-            // Finds the closest slot in the GUI within 14 pixels.
-            Optional<Slot> closestSlot = inventory.getContainer().slots.parallelStream()
-                    .filter(Predicate.isEqual(mouseSlot).negate())
-                    .map(slot -> {
-                        int posX = guiLeft + slot.xPosition + 8;
-                        int posY = guiTop + slot.yPosition + 8;
+            // Finds the closest slot in the direction, from the hovered slot or from the cursor.
+            SlotGrid grid = accessor.lambdacontrols_getSlotGrid();
+            int mouseSlotIndex = grid.indexOf(mouseSlot);
+            int closestSlot = mouseSlotIndex != -1 ? grid.getNeighbour(mouseSlotIndex, direction)
+                    : grid.findNeighbour((int) mouseX - guiLeft, (int) mouseY - guiTop, direction);
 
-                        int otherPosX = (int) mouseX;
-                        int otherPosY = (int) mouseY;
-                        if (mouseSlot != null) {
-                            otherPosX = guiLeft + mouseSlot.xPosition + 8;
-                            otherPosY = guiTop + mouseSlot.yPosition + 8;
-                        }
-
-                        // Distance between the slot and the cursor.
-                        double distance = Math.sqrt(Math.pow(posX - otherPosX, 2) + Math.pow(posY - otherPosY, 2));
-                        return Pair.of(slot, distance);
-                    }).filter(entry -> {
-                        Slot slot = entry.key;
-                        int posX = guiLeft + slot.xPosition + 8;
-                        int posY = guiTop + slot.yPosition + 8;
-                        int otherPosX = (int) mouseX;
-                        int otherPosY = (int) mouseY;
-                        if (mouseSlot != null) {
-                            otherPosX = guiLeft + mouseSlot.xPosition + 8;
-                            otherPosY = guiTop + mouseSlot.yPosition + 8;
-                        }
-                        if (direction == 0)
-                            return posY < otherPosY;
-                        else if (direction == 1)
-                            return posY > otherPosY;
-                        else if (direction == 2)
-                            return posX > otherPosX;
-                        else if (direction == 3)
-                            return posX < otherPosX;
-                        else
-                            return false;
-                    })
-                    .min(Comparator.comparingDouble(p -> p.value))
-                    .map(p -> p.key);
-
-            if (closestSlot.isPresent()) {
-                Slot slot = closestSlot.get();
-                int x = guiLeft + slot.xPosition + 8;
-                int y = guiTop + slot.yPosition + 8;
+            if (closestSlot != -1) {
+                int x = guiLeft + grid.getCenterX(closestSlot);
+                int y = guiTop + grid.getCenterY(closestSlot);
                 InputManager.queueMousePosition(x * (double) client.getWindow().getWidth() / (double) client.getWindow().getScaledWidth(),
                         y * (double) client.getWindow().getHeight() / (double) client.getWindow().getScaledHeight());
                 return true;
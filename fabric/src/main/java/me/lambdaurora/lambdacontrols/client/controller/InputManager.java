@@ -10,39 +10,61 @@
 package me.lambdaurora.lambdacontrols.client.controller;
 
 import me.lambdaurora.lambdacontrols.ControlsMode;
-import me.lambdaurora.lambdacontrols.client.ButtonState;
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
 import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
 import me.lambdaurora.lambdacontrols.client.util.MouseAccessor;
+import me.lambdaurora.lambdacontrols.input.BindingIndex;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
+import me.lambdaurora.lambdacontrols.input.ButtonStates;
+import me.lambdaurora.lambdacontrols.input.Cooldowns;
+import me.lambdaurora.lambdacontrols.input.InputBinding;
+import me.lambdaurora.lambdacontrols.input.InputContext;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.util.math.MathHelper;
 import org.aperlambda.lambdacommon.Identifier;
 import org.aperlambda.lambdacommon.utils.function.PairPredicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Represents an input manager for controllers.
  *
  * @author LambdAurora
- * @version 1.1.0
+ * @version 1.2.0
  * @since 1.1.0
  */
 public class InputManager
 {
-    public static final  InputManager              INPUT_MANAGER    = new InputManager();
-    private static final List<ButtonBinding>       BINDINGS         = new ArrayList<>();
-    private static final List<ButtonCategory>      CATEGORIES       = new ArrayList<>();
-    public static final  Map<Integer, ButtonState> STATES           = new HashMap<>();
-    private              int                       prevTargetMouseX = 0;
-    private              int                       prevTargetMouseY = 0;
-    private              int                       targetMouseX     = 0;
-    private              int                       targetMouseY     = 0;
+    public static final  InputManager                    INPUT_MANAGER    = new InputManager();
+    private static final List<ButtonBinding>             BINDINGS         = new ArrayList<>();
+    private static final List<ButtonCategory>            CATEGORIES       = new ArrayList<>();
+    public static final  ButtonStates                    STATES           = new ButtonStates();
+    public static final  Cooldowns                       COOLDOWNS        = new Cooldowns(ButtonStates.CODE_SPACE);
+    private static final BindingIndex<ButtonBinding>     INDEX            = new BindingIndex<>();
+    private static       ClientActionSink                sink;
+    // The bindings with the higher button counts first, then in registration order.
+    private static final Comparator<ButtonBinding>       BINDING_ORDER    = Comparator.<ButtonBinding>comparingInt(binding -> -binding.getButton().length)
+            .thenComparingInt(binding -> binding.order);
+    private static       int                             nextOrder        = 0;
+    private static       int                             bulkDepth        = 0;
+    private static       boolean                         sortPending      = false;
+    // Bindings by lower case name, and counts of bindings by button set and by button set and filter.
+    private static final Map<String, ButtonBinding>      BY_NAME          = new HashMap<>();
+    private static final Map<ButtonSetKey, Integer>      BUTTON_SETS      = new HashMap<>();
+    private static final Map<ButtonSetKey, Integer>      CONFLICTS        = new HashMap<>();
+    private              int                             prevTargetMouseX = 0;
+    private              int                             prevTargetMouseY = 0;
+    private              int                             targetMouseX     = 0;
+    private              int                             targetMouseY     = 0;
+    // The virtual cursor, in window coordinates.
+    private              boolean                         virtualCursor    = false;
+    private              double                          virtualMouseX    = 0.0;
+    private              double                          virtualMouseY    = 0.0;
 
     protected InputManager()
     {
@@ -72,11 +94,103 @@ public class InputManager
         if (this.prevTargetMouseX != this.targetMouseX || this.prevTargetMouseY != this.targetMouseY) {
             double mouseX = this.prevTargetMouseX + (this.targetMouseX - this.prevTargetMouseX) * client.getTickDelta() + 0.5;
             double mouseY = this.prevTargetMouseY + (this.targetMouseY - this.prevTargetMouseY) * client.getTickDelta() + 0.5;
+            this.applyMousePosition(client, mouseX, mouseY);
+        }
+    }
+
+    /**
+     * Returns whether the mouse is moving to a queued position or not.
+     *
+     * @return True if the mouse is moving to a queued position, else false.
+     */
+    public boolean isMovingToTarget()
+    {
+        return this.prevTargetMouseX != this.targetMouseX || this.prevTargetMouseY != this.targetMouseY;
+    }
+
+    /**
+     * Sets the mouse position immediately, without the interpolation between the ticks.
+     *
+     * @param client The client instance.
+     * @param mouseX The X coordinate in the window.
+     * @param mouseY The Y coordinate in the window.
+     */
+    public void setMousePosition(@NotNull MinecraftClient client, double mouseX, double mouseY)
+    {
+        this.prevTargetMouseX = this.targetMouseX = (int) mouseX;
+        this.prevTargetMouseY = this.targetMouseY = (int) mouseY;
+        this.applyMousePosition(client, mouseX, mouseY);
+    }
+
+    private void applyMousePosition(@NotNull MinecraftClient client, double mouseX, double mouseY)
+    {
+        if (LambdaControlsClient.get().config.hasVirtualCursor()) {
+            this.moveVirtualCursor(client, mouseX, mouseY);
+        } else {
             GLFW.glfwSetCursorPos(client.getWindow().getHandle(), mouseX, mouseY);
             ((MouseAccessor) client.mouse).lambdacontrols_onCursorPos(client.getWindow().getHandle(), mouseX, mouseY);
         }
     }
 
+    /**
+     * Moves the virtual cursor, the system cursor is left untouched and the move is given straight to the current screen.
+     *
+     * @param client The client instance.
+     * @param mouseX The X coordinate in the window.
+     * @param mouseY The Y coordinate in the window.
+     */
+    private void moveVirtualCursor(@NotNull MinecraftClient client, double mouseX, double mouseY)
+    {
+        this.virtualCursor = true;
+        this.virtualMouseX = mouseX;
+        this.virtualMouseY = mouseY;
+        if (client.currentScreen != null) {
+            double scaledX = mouseX * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth();
+            double scaledY = mouseY * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight();
+            client.currentScreen.mouseMoved(scaledX, scaledY);
+        }
+    }
+
+    /**
+     * Returns whether the virtual cursor replaces the system cursor or not.
+     * <p>
+     * The virtual cursor is active in the screens once the controller moved it, until the system cursor moves.
+     *
+     * @return True if the virtual cursor is active, else false.
+     */
+    public boolean isVirtualCursorActive()
+    {
+        return this.virtualCursor && MinecraftClient.getInstance().currentScreen != null;
+    }
+
+    /**
+     * Gets the X coordinate of the virtual cursor in the window.
+     *
+     * @return The X coordinate.
+     */
+    public double getVirtualMouseX()
+    {
+        return this.virtualMouseX;
+    }
+
+    /**
+     * Gets the Y coordinate of the virtual cursor in the window.
+     *
+     * @return The Y coordinate.
+     */
+    public double getVirtualMouseY()
+    {
+        return this.virtualMouseY;
+    }
+
+    /**
+     * Called when the system cursor moves, the system cursor takes over the virtual cursor.
+     */
+    public void onSystemCursorMoved()
+    {
+        this.virtualCursor = false;
+    }
+
     /**
      * Resets the mouse position.
      *
@@ -85,6 +199,7 @@ public class InputManager
      */
     public void resetMousePosition(int windowWidth, int windowHeight)
     {
+        this.virtualCursor = false;
         this.targetMouseX = this.prevTargetMouseX = (int) (windowWidth / 2.F);
         this.targetMouseY = this.prevTargetMouseY = (int) (windowHeight / 2.F);
     }
@@ -105,7 +220,7 @@ public class InputManager
      */
     public static boolean hasBinding(@NotNull ButtonBinding binding)
     {
-        return BINDINGS.contains(binding);
+        return binding.order != -1;
     }
 
     /**
@@ -116,7 +231,18 @@ public class InputManager
      */
     public static boolean hasBinding(@NotNull String name)
     {
-        return BINDINGS.parallelStream().map(ButtonBinding::getName).anyMatch(binding -> binding.equalsIgnoreCase(name));
+        return BY_NAME.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the registered binding with the specified name.
+     *
+     * @param name The name of the binding.
+     * @return The binding if registered, else empty.
+     */
+    public static @NotNull Optional<ButtonBinding> getBinding(@NotNull String name)
+    {
+        return Optional.ofNullable(BY_NAME.get(name.toLowerCase(Locale.ROOT)));
     }
 
     /**
@@ -140,10 +266,27 @@ public class InputManager
     {
         if (hasBinding(binding))
             throw new IllegalStateException("Cannot register twice a button binding in the registry.");
-        BINDINGS.add(binding);
+        synchronized (BINDINGS) {
+            binding.order = nextOrder++;
+            insertBinding(binding);
+            // The first registered binding with a name wins, as in the registration order lookup.
+            BY_NAME.putIfAbsent(binding.getName().toLowerCase(Locale.ROOT), binding);
+            indexButtons(binding);
+            INDEX.invalidate();
+        }
         return binding;
     }
 
+    /**
+     * Registers the specified button bindings, the registry is sorted only once.
+     *
+     * @param bindings The bindings to register.
+     */
+    public static void registerBindings(@NotNull Collection<ButtonBinding> bindings)
+    {
+        bulkUpdate(() -> bindings.forEach(InputManager::registerBinding));
+    }
+
     public static @NotNull ButtonBinding registerBinding(@NotNull Identifier id, int[] defaultButton, @NotNull List<PressAction> actions, @NotNull PairPredicate<MinecraftClient, ButtonBinding> filter, boolean hasCooldown)
     {
         return registerBinding(new ButtonBinding(id.getNamespace() + "." + id.getName(), defaultButton, actions, filter, hasCooldown));
@@ -170,13 +313,85 @@ public class InputManager
     public static void sortBindings()
     {
         synchronized (BINDINGS) {
-            List<ButtonBinding> sorted = BINDINGS.stream().sorted(Collections.reverseOrder(Comparator.comparingInt(binding -> binding.getButton().length)))
-                    .collect(Collectors.toList());
-            BINDINGS.clear();
-            BINDINGS.addAll(sorted);
+            BINDINGS.sort(BINDING_ORDER);
+            sortPending = false;
+            INDEX.invalidate();
         }
     }
 
+    /**
+     * Runs the specified bulk update of the bindings, like registrations or button changes.
+     * <p>
+     * The registry is sorted once at the end of the update instead of after each change.
+     *
+     * @param update The update to run.
+     */
+    public static void bulkUpdate(@NotNull Runnable update)
+    {
+        synchronized (BINDINGS) {
+            bulkDepth++;
+            try {
+                update.run();
+            } finally {
+                if (--bulkDepth == 0 && sortPending)
+                    sortBindings();
+            }
+        }
+    }
+
+    /**
+     * Called when the buttons of a registered binding changed, moves the binding to keep the registry ordered.
+     *
+     * @param binding        The binding.
+     * @param previousLength The previous count of buttons.
+     */
+    static void onBindingChanged(@NotNull ButtonBinding binding, int previousLength)
+    {
+        synchronized (BINDINGS) {
+            unindexButtons(binding);
+            indexButtons(binding);
+            if (binding.getButton().length != previousLength) {
+                if (bulkDepth > 0)
+                    sortPending = true;
+                else {
+                    BINDINGS.remove(binding);
+                    insertBinding(binding);
+                }
+            }
+            INDEX.invalidate();
+        }
+    }
+
+    private static void indexButtons(@NotNull ButtonBinding binding)
+    {
+        binding.buttonSetKey = new ButtonSetKey(binding.getButton(), null, InputContext.ALL);
+        binding.conflictKey = new ButtonSetKey(binding.getButton(), binding.filter, binding.getContexts());
+        BUTTON_SETS.merge(binding.buttonSetKey, 1, Integer::sum);
+        CONFLICTS.merge(binding.conflictKey, 1, Integer::sum);
+    }
+
+    private static void unindexButtons(@NotNull ButtonBinding binding)
+    {
+        decrement(BUTTON_SETS, binding.buttonSetKey);
+        decrement(CONFLICTS, binding.conflictKey);
+    }
+
+    private static void decrement(@NotNull Map<ButtonSetKey, Integer> counts, @NotNull ButtonSetKey key)
+    {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static void insertBinding(@NotNull ButtonBinding binding)
+    {
+        if (bulkDepth > 0) {
+            BINDINGS.add(binding);
+            sortPending = true;
+            return;
+        }
+        int index = Collections.binarySearch(BINDINGS, binding, BINDING_ORDER);
+        BINDINGS.add(index < 0 ? -index - 1 : index, binding);
+    }
+
     /**
      * Registers a category of button bindings.
      *
@@ -214,7 +429,7 @@ public class InputManager
     public static void loadButtonBindings(@NotNull LambdaControlsConfig config)
     {
         List<ButtonBinding> queue = new ArrayList<>(BINDINGS);
-        queue.forEach(config::loadButtonBinding);
+        bulkUpdate(() -> queue.forEach(config::loadButtonBinding));
     }
 
     /**
@@ -225,20 +440,7 @@ public class InputManager
      */
     public static @NotNull ButtonState getBindingState(@NotNull ButtonBinding binding)
     {
-        ButtonState state = ButtonState.REPEAT;
-        for (int btn : binding.getButton()) {
-            ButtonState btnState = InputManager.STATES.getOrDefault(btn, ButtonState.NONE);
-            if (btnState == ButtonState.PRESS)
-                state = ButtonState.PRESS;
-            else if (btnState == ButtonState.RELEASE) {
-                state = ButtonState.RELEASE;
-                break;
-            } else if (btnState == ButtonState.NONE) {
-                state = ButtonState.NONE;
-                break;
-            }
-        }
-        return state;
+        return InputBinding.resolveState(binding.getButton(), STATES);
     }
 
     /**
@@ -249,7 +451,7 @@ public class InputManager
      */
     public static boolean hasDuplicatedBindings(int[] button)
     {
-        return BINDINGS.parallelStream().filter(binding -> areButtonsEquivalent(binding.getButton(), button)).count() > 1;
+        return BUTTON_SETS.getOrDefault(new ButtonSetKey(button, null, InputContext.ALL), 0) > 1;
     }
 
     /**
@@ -260,11 +462,14 @@ public class InputManager
      */
     public static boolean hasDuplicatedBindings(ButtonBinding binding)
     {
-        return BINDINGS.parallelStream().filter(other -> areButtonsEquivalent(other.getButton(), binding.getButton()) && other.filter.equals(binding.filter)).count() > 1;
+        ButtonSetKey key = binding.conflictKey == null ? new ButtonSetKey(binding.getButton(), binding.filter, binding.getContexts()) : binding.conflictKey;
+        return CONFLICTS.getOrDefault(key, 0) > 1;
     }
 
     /**
      * Returns whether the specified buttons are equivalent or not.
+     * <p>
+     * The buttons are compared with the bitmasks of the binding index.
      *
      * @param buttons1 First set of buttons.
      * @param buttons2 Second set of buttons.
@@ -272,18 +477,7 @@ public class InputManager
      */
     public static boolean areButtonsEquivalent(int[] buttons1, int[] buttons2)
     {
-        if (buttons1.length != buttons2.length)
-            return false;
-        int count = 0;
-        for (int btn : buttons1) {
-            for (int btn2 : buttons2) {
-                if (btn == btn2) {
-                    count++;
-                    break;
-                }
-            }
-        }
-        return count == buttons1.length;
+        return INDEX.areEquivalent(buttons1, buttons2);
     }
 
     /**
@@ -295,7 +489,11 @@ public class InputManager
      */
     public static boolean containsButton(int[] buttons, int button)
     {
-        return Arrays.stream(buttons).anyMatch(btn -> btn == button);
+        for (int btn : buttons) {
+            if (btn == button)
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -303,38 +501,21 @@ public class InputManager
      */
     public static void updateStates()
     {
-        STATES.forEach((btn, state) -> {
-            if (state == ButtonState.PRESS)
-                STATES.put(btn, ButtonState.REPEAT);
-            else if (state == ButtonState.RELEASE)
-                STATES.put(btn, ButtonState.NONE);
-        });
+        STATES.update();
     }
 
+    /**
+     * Updates the button bindings and handles them.
+     * <p>
+     * Only the bindings of the current input context using an active button, or still pressed, are visited.
+     *
+     * @param client The client instance.
+     */
     public static void updateBindings(@NotNull MinecraftClient client)
     {
-        List<Integer> skipButtons = new ArrayList<>();
-        Map<ButtonBinding, ButtonState> states = new HashMap<>();
-        for (ButtonBinding binding : BINDINGS) {
-            ButtonState state = binding.isAvailable(client) ? getBindingState(binding) : ButtonState.NONE;
-            if (skipButtons.stream().anyMatch(btn -> containsButton(binding.getButton(), btn))) {
-                if (binding.pressed)
-                    state = ButtonState.RELEASE;
-                else
-                    state = ButtonState.NONE;
-            }
-            binding.pressed = state.isPressed();
-            binding.update();
-            if (binding.pressed)
-                Arrays.stream(binding.getButton()).forEach(skipButtons::add);
-            states.put(binding, state);
-        }
-
-        states.forEach((binding, state) -> {
-            if (state != ButtonState.NONE) {
-                binding.handle(client, state);
-            }
-        });
+        if (sink == null)
+            sink = new ClientActionSink(client);
+        INDEX.update(sink, sink.getInputContext(), STATES, BINDINGS);
     }
 
     public static void queueMousePosition(double x, double y)
@@ -348,6 +529,23 @@ public class InputManager
         queueMousePosition(INPUT_MANAGER.targetMouseX + x, INPUT_MANAGER.targetMouseY + y);
     }
 
+    /**
+     * Gets the buttons of the bindings by name.
+     * <p>
+     * The first registered binding of a name wins, like in the name lookup.
+     *
+     * @return The buttons by binding name.
+     */
+    public static @NotNull Map<String, int[]> getButtonsByName()
+    {
+        List<ButtonBinding> bindings;
+        synchronized (BINDINGS) {
+            bindings = new ArrayList<>(BINDINGS);
+        }
+        bindings.sort(Comparator.comparingInt(binding -> binding.order));
+        return InputBinding.getButtonsByName(bindings);
+    }
+
     public static @NotNull Stream<ButtonBinding> streamBindings()
     {
         return BINDINGS.stream();
@@ -357,4 +555,44 @@ public class InputManager
     {
         return CATEGORIES.stream();
     }
+
+    /**
+     * Represents a normalized button set, optionally with a binding filter and input contexts, used as a key of the conflicts index.
+     * <p>
+     * Equivalent button sets in any order give equal keys.
+     */
+    static final class ButtonSetKey
+    {
+        private final int[]  buttons;
+        private final Object filter;
+        private final int    contexts;
+        private final int    hash;
+
+        ButtonSetKey(int[] buttons, @Nullable Object filter, int contexts)
+        {
+            this.buttons = buttons.clone();
+            Arrays.sort(this.buttons);
+            this.filter = filter;
+            this.contexts = contexts;
+            this.hash = 31 * (31 * Arrays.hashCode(this.buttons) + Objects.hashCode(filter)) + contexts;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+                return true;
+            if (!(o instanceof ButtonSetKey))
+                return false;
+            ButtonSetKey other = (ButtonSetKey) o;
+            return this.hash == other.hash && this.contexts == other.contexts && Arrays.equals(this.buttons, other.buttons)
+                    && Objects.equals(this.filter, other.filter);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
+import net.minecraft.client.MinecraftClient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.glfw.GLFW;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the gamepad mappings database read from {@code config/gamecontrollerdb.txt}.
+ * <p>
+ * The file is read at once and indexed by GUID on a background thread. Only the mappings of the connected controllers
+ * are submitted to GLFW on the main thread, the other mappings are submitted when their controller is connected.
+ * The file is not kept open, so it can be replaced while the game runs.
+ * <p>
+ * The file is watched for changes on a daemon thread, the new database is diffed by GUID against the applied mappings
+ * on the next tick and only the changed lines are submitted.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class MappingDatabase
+{
+    private static final    Path                FILE               = Paths.get("config/gamecontrollerdb.txt");
+    private static final    long                WATCH_SETTLE_DELAY = 250;
+    private static final    ExecutorService     LOADER             = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LambdaControls mappings loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static          Thread              watcher;
+    // Database read by the watcher, applied on the next tick.
+    private static volatile MappingDatabase     pending;
+    // Main thread state.
+    private static          MappingDatabase     current;
+    // The mapping lines submitted to GLFW by GUID.
+    private static final    Map<String, byte[]> APPLIED            = new HashMap<>();
+
+    // The mapping lines of each GUID, separated by new lines.
+    private final Map<String, byte[]> mappings;
+
+    private MappingDatabase(@NotNull Map<String, byte[]> mappings)
+    {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Reads the mappings database on a background thread, then submits the mappings of the connected controllers on the main thread.
+     *
+     * @return The future completed on the main thread once the mappings of the connected controllers are submitted.
+     */
+    public static @NotNull CompletableFuture<Void> reload()
+    {
+        MinecraftClient client = MinecraftClient.getInstance();
+        return CompletableFuture.supplyAsync(MappingDatabase::read, LOADER)
+                .thenAcceptAsync(MappingDatabase::apply, client);
+    }
+
+    /**
+     * Starts watching the mappings file for changes, the changed mappings are applied on the next tick.
+     */
+    public static synchronized void watch()
+    {
+        if (watcher != null)
+            return;
+        watcher = new Thread(MappingDatabase::runWatcher, "LambdaControls mappings watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Applies the mappings read by the watcher, called on each tick.
+     */
+    public static void tick()
+    {
+        MappingDatabase database = pending;
+        if (database != null) {
+            pending = null;
+            apply(database);
+        }
+    }
+
+    private static void apply(@Nullable MappingDatabase database)
+    {
+        current = database;
+        if (database == null)
+            return;
+        Set<String> guids = new HashSet<>();
+        for (int id = GLFW.GLFW_JOYSTICK_1; id <= GLFW.GLFW_JOYSTICK_LAST; id++) {
+            Controller controller = Controller.byId(id);
+            if (controller.isConnected())
+                guids.add(controller.getGuid());
+        }
+        // The changed mappings of the disconnected controllers are resubmitted too, GLFW keeps the old ones.
+        guids.addAll(APPLIED.keySet());
+        if (submit(guids)) {
+            LambdaControlsClient.get().log("Updated controller mappings.");
+            // The mappings change which joysticks are gamepads and their names.
+            Controller.refreshAll();
+        }
+    }
+
+    /**
+     * Submits the mappings of the specified GUID if they differ from the applied ones, called when a controller is connected.
+     *
+     * @param guid The GUID of the connected controller.
+     * @return True if new mappings were submitted, else false.
+     */
+    public static boolean onConnected(@NotNull String guid)
+    {
+        return submit(Collections.singleton(guid));
+    }
+
+    /**
+     * Submits the mappings of the specified GUIDs which differ from the applied ones.
+     *
+     * @param guids The GUIDs.
+     * @return True if mappings were submitted, else false.
+     */
+    private static boolean submit(@NotNull Collection<String> guids)
+    {
+        if (current == null)
+            return false;
+        int size = 0;
+        for (String guid : guids) {
+            byte[] lines = current.mappings.get(guid);
+            if (lines != null && !Arrays.equals(lines, APPLIED.get(guid)))
+                size += lines.length;
+        }
+        if (size == 0)
+            return false;
+
+        ByteBuffer buffer = BufferUtils.createByteBuffer(size + 1);
+        for (String guid : guids) {
+            byte[] lines = current.mappings.get(guid);
+            if (lines != null && !Arrays.equals(lines, APPLIED.put(guid, lines)))
+                buffer.put(lines);
+        }
+        buffer.put((byte) 0);
+        ((Buffer) buffer).flip(); // Force Java 8 >.<
+        return GLFW.glfwUpdateGamepadMappings(buffer);
+    }
+
+    private static void runWatcher()
+    {
+        Path directory = FILE.toAbsolutePath().getParent();
+        try (WatchService service = directory.getFileSystem().newWatchService()) {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = isFileChanged(key);
+                // Waits for the writes to settle, a file is often written in several steps.
+                while ((key = service.poll(WATCH_SETTLE_DELAY, TimeUnit.MILLISECONDS)) != null)
+                    changed |= isFileChanged(key);
+                if (changed)
+                    reloadPending();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watcher is stopped.
+        } catch (IOException e) {
+            LambdaControlsClient.get().warn("Could not watch the controller mappings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the changed mappings file for the next tick, a failed read does not stop the watcher.
+     */
+    private static void reloadPending()
+    {
+        try {
+            MappingDatabase database = read();
+            if (database != null)
+                pending = database;
+        } catch (RuntimeException e) {
+            // The file is read again on its next change.
+            LambdaControlsClient.get().warn("Could not reload the controller mappings: " + e);
+        }
+    }
+
+    private static boolean isFileChanged(@NotNull WatchKey key)
+    {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || FILE.getFileName().equals(event.context()))
+                changed = true;
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Reads and indexes the mappings file.
+     *
+     * @return The database, or null if the file does not exist or cannot be read.
+     */
+    private static @Nullable MappingDatabase read()
+    {
+        if (!Files.isReadable(FILE))
+            return null;
+        try {
+            // The file is read on the heap, a mapping would keep it locked until collected.
+            return new MappingDatabase(index(Files.readAllBytes(FILE)));
+        } catch (IOException e) {
+            LambdaControlsClient.get().warn("Could not read the controller mappings: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static @NotNull Map<String, byte[]> index(byte[] bytes)
+    {
+        Map<String, byte[]> mappings = new HashMap<>();
+        int limit = bytes.length;
+        int start = 0;
+        while (start < limit) {
+            int end = start;
+            while (end < limit && bytes[end] != '\n')
+                end++;
+            int lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+            // The GUID is the first field, comments and blank lines are skipped.
+            if (lineEnd > start && bytes[start] != '#') {
+                int comma = start;
+                while (comma < lineEnd && bytes[comma] != ',')
+                    comma++;
+                if (comma > start && comma < lineEnd) {
+                    String guid = new String(bytes, start, comma - start, StandardCharsets.US_ASCII);
+                    byte[] previous = mappings.get(guid);
+                    int offset = previous == null ? 0 : previous.length;
+                    byte[] lines = previous == null ? new byte[lineEnd - start + 1] : Arrays.copyOf(previous, offset + lineEnd - start + 1);
+                    System.arraycopy(bytes, start, lines, offset, lineEnd - start);
+                    lines[lines.length - 1] = '\n';
+                    mappings.put(guid, lines);
+                }
+            }
+            start = end + 1;
+        }
+        return mappings;
+    }
+}
@@ -9,8 +9,8 @@
 
 package me.lambdaurora.lambdacontrols.client.controller;
 
-import me.lambdaurora.lambdacontrols.client.ButtonState;
 import me.lambdaurora.lambdacontrols.client.util.KeyBindingAccessor;
+import me.lambdaurora.lambdacontrols.input.ButtonState;
 import net.minecraft.client.MinecraftClient;
 import org.jetbrains.annotations.NotNull;
 
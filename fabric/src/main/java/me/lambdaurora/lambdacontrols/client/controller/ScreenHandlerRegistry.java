@@ -0,0 +1,282 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.LambdaInput;
+import net.minecraft.client.gui.Element;
+import net.minecraft.client.gui.screen.Screen;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the registry of the controller handlers of the screens and of their elements.
+ * <p>
+ * The handlers are registered for a class and apply to its subclasses. The traits of each concrete class are resolved once
+ * and cached with a {@link ClassValue}, so dispatching the controller input to a screen or an element is one lookup.
+ * When several registered classes match, the most specific one wins, then the first registered one.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public final class ScreenHandlerRegistry
+{
+    private static final    List<Entry>        ENTRIES = new ArrayList<>();
+    private static volatile ClassValue<Traits> traits  = newCache();
+
+    private ScreenHandlerRegistry()
+    {
+        throw new UnsupportedOperationException("ScreenHandlerRegistry only contains static definitions.");
+    }
+
+    /**
+     * Registers a screen class which requires the mouse, the controller moves the cursor instead of the focus on such screens.
+     *
+     * @param type The screen class.
+     */
+    public static void registerMouseScreen(@NotNull Class<? extends Screen> type)
+    {
+        register(new Entry(type, true, null, null, null));
+    }
+
+    /**
+     * Registers the handler of the A button for the specified element class.
+     *
+     * @param type    The element class.
+     * @param handler The handler.
+     * @param <T>     The type of the element.
+     */
+    public static <T extends Element> void registerPressHandler(@NotNull Class<T> type, @NotNull PressHandler<? super T> handler)
+    {
+        register(new Entry(type, false, handler, null, null));
+    }
+
+    /**
+     * Registers the handler of the left and right buttons for the specified element class.
+     *
+     * @param type    The element class.
+     * @param handler The handler.
+     * @param <T>     The type of the element.
+     */
+    public static <T extends Element> void registerLeftRightHandler(@NotNull Class<T> type, @NotNull LeftRightHandler<? super T> handler)
+    {
+        register(new Entry(type, false, null, handler, null));
+    }
+
+    /**
+     * Registers the handler of the right stick for the specified screen class.
+     *
+     * @param type    The screen class.
+     * @param handler The handler.
+     * @param <T>     The type of the screen.
+     */
+    public static <T extends Screen> void registerScrollHandler(@NotNull Class<T> type, @NotNull ScrollHandler<? super T> handler)
+    {
+        register(new Entry(type, false, null, null, handler));
+    }
+
+    private static synchronized void register(@NotNull Entry entry)
+    {
+        ENTRIES.add(entry);
+        // The already resolved traits may be outdated.
+        traits = newCache();
+    }
+
+    /**
+     * Gets the resolved traits of the specified screen or element.
+     *
+     * @param element The screen or element.
+     * @return The traits.
+     */
+    public static @NotNull Traits get(@NotNull Element element)
+    {
+        return traits.get(element.getClass());
+    }
+
+    private static ClassValue<Traits> newCache()
+    {
+        return new ClassValue<Traits>()
+        {
+            @Override
+            protected Traits computeValue(Class<?> type)
+            {
+                return resolve(type);
+            }
+        };
+    }
+
+    private static synchronized @NotNull Traits resolve(@NotNull Class<?> type)
+    {
+        boolean mouseScreen = false;
+        Entry press = null, leftRight = null, scroll = null;
+        for (Entry entry : ENTRIES) {
+            if (!entry.type.isAssignableFrom(type))
+                continue;
+            mouseScreen |= entry.mouseScreen;
+            if (entry.pressHandler != null && entry.isPreferredTo(press))
+                press = entry;
+            if (entry.leftRightHandler != null && entry.isPreferredTo(leftRight))
+                leftRight = entry;
+            if (entry.scrollHandler != null && entry.isPreferredTo(scroll))
+                scroll = entry;
+        }
+        return new Traits(!mouseScreen,
+                press == null ? null : press.pressHandler,
+                leftRight == null ? null : leftRight.leftRightHandler,
+                scroll == null ? null : scroll.scrollHandler);
+    }
+
+    private static final class Entry
+    {
+        private final Class<?>                  type;
+        private final boolean                   mouseScreen;
+        private final PressHandler<Element>     pressHandler;
+        private final LeftRightHandler<Element> leftRightHandler;
+        private final ScrollHandler<Screen>     scrollHandler;
+
+        @SuppressWarnings("unchecked")
+        private Entry(@NotNull Class<?> type, boolean mouseScreen, @Nullable PressHandler<?> pressHandler, @Nullable LeftRightHandler<?> leftRightHandler,
+                      @Nullable ScrollHandler<?> scrollHandler)
+        {
+            this.type = type;
+            this.mouseScreen = mouseScreen;
+            // The handlers are only called with instances of the registered class.
+            this.pressHandler = (PressHandler<Element>) pressHandler;
+            this.leftRightHandler = (LeftRightHandler<Element>) leftRightHandler;
+            this.scrollHandler = (ScrollHandler<Screen>) scrollHandler;
+        }
+
+        private boolean isPreferredTo(@Nullable Entry other)
+        {
+            return other == null || (other.type != this.type && other.type.isAssignableFrom(this.type));
+        }
+    }
+
+    /**
+     * Represents the resolved traits of a screen or element class.
+     */
+    public static final class Traits
+    {
+        private final boolean                   interactive;
+        private final PressHandler<Element>     pressHandler;
+        private final LeftRightHandler<Element> leftRightHandler;
+        private final ScrollHandler<Screen>     scrollHandler;
+
+        private Traits(boolean interactive, @Nullable PressHandler<Element> pressHandler, @Nullable LeftRightHandler<Element> leftRightHandler,
+                       @Nullable ScrollHandler<Screen> scrollHandler)
+        {
+            this.interactive = interactive;
+            this.pressHandler = pressHandler;
+            this.leftRightHandler = leftRightHandler;
+            this.scrollHandler = scrollHandler;
+        }
+
+        /**
+         * Returns whether the screen is interactive with the controller focus or not.
+         *
+         * @return True if the screen is interactive, false if the screen requires the mouse.
+         */
+        public boolean isInteractive()
+        {
+            return this.interactive;
+        }
+
+        /**
+         * Gets the handler of the A button.
+         *
+         * @return The handler, or null if the A button is not handled.
+         */
+        public @Nullable PressHandler<Element> getPressHandler()
+        {
+            return this.pressHandler;
+        }
+
+        /**
+         * Gets the handler of the left and right buttons.
+         *
+         * @return The handler, or null if the left and right buttons are not handled.
+         */
+        public @Nullable LeftRightHandler<Element> getLeftRightHandler()
+        {
+            return this.leftRightHandler;
+        }
+
+        /**
+         * Gets the handler of the right stick.
+         *
+         * @return The handler, or null if the right stick is not handled.
+         */
+        public @Nullable ScrollHandler<Screen> getScrollHandler()
+        {
+            return this.scrollHandler;
+        }
+    }
+
+    /**
+     * Represents a handler of the A button on a focused element.
+     *
+     * @param <T> The type of the element.
+     */
+    @FunctionalInterface
+    public interface PressHandler<T extends Element>
+    {
+        /**
+         * Handles the A button on the focused element.
+         *
+         * @param input   The input handler.
+         * @param screen  The current screen.
+         * @param element The focused element.
+         * @return True if the element was pressed, else false.
+         */
+        boolean press(@NotNull LambdaInput input, @NotNull Screen screen, @NotNull T element);
+    }
+
+    /**
+     * Represents a handler of the left and right buttons on a focused element.
+     *
+     * @param <T> The type of the element.
+     */
+    @FunctionalInterface
+    public interface LeftRightHandler<T extends Element>
+    {
+        /**
+         * Handles the left and right buttons on the focused element.
+         *
+         * @param input   The input handler.
+         * @param element The focused element.
+         * @param right   True if the right button is pressed, else false.
+         * @return True if the focus should move to the next element, false if the element consumed the input.
+         */
+        boolean handle(@NotNull LambdaInput input, @NotNull T element, boolean right);
+    }
+
+    /**
+     * Represents a handler of the right stick on a screen.
+     *
+     * @param <T> The type of the screen.
+     */
+    @FunctionalInterface
+    public interface ScrollHandler<T extends Screen>
+    {
+        /**
+         * Handles a right stick axis on the screen.
+         *
+         * @param input  The input handler.
+         * @param screen The current screen.
+         * @param axis   The axis.
+         * @param value  The value of the axis processed by the {@link StickProcessor}, 0 in the dead zone.
+         * @return True if the screen consumed the axis, else false.
+         */
+        boolean scroll(@NotNull LambdaInput input, @NotNull T screen, int axis, float value);
+    }
+}
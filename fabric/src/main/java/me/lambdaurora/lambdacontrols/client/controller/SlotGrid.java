@@ -0,0 +1,318 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.mixin.CreativeInventoryScreenAccessor;
+import net.minecraft.client.gui.screen.ingame.ContainerScreen;
+import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
+import net.minecraft.container.Slot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents a spatial grid of the slot centers of a container screen.
+ * <p>
+ * The centers are relative to the GUI origin and bucketed in square cells, so a query only visits the cells around the point.
+ * The grid is built once per screen layout: it's rebuilt when the screen is initialized again, when the slots count changes
+ * or when the creative inventory tab changes.
+ * <p>
+ * The grid also holds the navigation graph of the slots: the nearest neighbour of each slot in each direction,
+ * computed on the first navigation and kept for the lifetime of the layout.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class SlotGrid
+{
+    public static final int UP    = 0;
+    public static final int DOWN  = 1;
+    public static final int RIGHT = 2;
+    public static final int LEFT  = 3;
+
+    /**
+     * The size of a cell, slots are usually 18 pixels apart.
+     */
+    private static final int CELL_SIZE = 16;
+
+    private final List<Slot> source;
+    private final int        layout;
+    private final Slot[]     slots;
+    private final int[]      centerX;
+    private final int[]      centerY;
+    private final int        minX;
+    private final int        minY;
+    private final int        columns;
+    private final int        rows;
+    // The slots of each cell are stored contiguously in slot order: the slots of the cell i are from cellStart[i] to cellStart[i + 1].
+    private final int[]      cellStart;
+    private final int[]      cellSlots;
+    // The neighbour of the slot i in the direction d is at i * 4 + d, -1 if there is no neighbour.
+    private       int[]      neighbours;
+
+    private SlotGrid(@NotNull List<Slot> source, int layout)
+    {
+        this.source = source;
+        this.layout = layout;
+        this.slots = source.toArray(new Slot[0]);
+        int count = this.slots.length;
+        this.centerX = new int[count];
+        this.centerY = new int[count];
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int x = this.slots[i].xPosition + 8;
+            int y = this.slots[i].yPosition + 8;
+            this.centerX[i] = x;
+            this.centerY[i] = y;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        if (count == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.columns = (maxX - minX) / CELL_SIZE + 1;
+        this.rows = (maxY - minY) / CELL_SIZE + 1;
+
+        // Counting sort of the slots by cell, which keeps the slot order inside a cell.
+        int[] cells = new int[count];
+        this.cellStart = new int[this.columns * this.rows + 1];
+        for (int i = 0; i < count; i++) {
+            cells[i] = this.cellOf(this.centerX[i], this.centerY[i]);
+            this.cellStart[cells[i] + 1]++;
+        }
+        for (int i = 0; i < this.columns * this.rows; i++)
+            this.cellStart[i + 1] += this.cellStart[i];
+        this.cellSlots = new int[count];
+        int[] fill = new int[this.columns * this.rows];
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            this.cellSlots[this.cellStart[cell] + fill[cell]++] = i;
+        }
+    }
+
+    private int cellOf(int x, int y)
+    {
+        return ((y - this.minY) / CELL_SIZE) * this.columns + (x - this.minX) / CELL_SIZE;
+    }
+
+    /**
+     * Builds the slot grid of the specified screen.
+     *
+     * @param screen The container screen.
+     * @return The slot grid.
+     */
+    public static @NotNull SlotGrid of(@NotNull ContainerScreen<?> screen)
+    {
+        return new SlotGrid(screen.getContainer().slots, getLayout(screen));
+    }
+
+    /**
+     * Returns whether this grid still matches the layout of the specified screen.
+     *
+     * @param screen The container screen.
+     * @return True if the grid is up to date, else false.
+     */
+    public boolean isValid(@NotNull ContainerScreen<?> screen)
+    {
+        List<Slot> slots = screen.getContainer().slots;
+        return slots == this.source && slots.size() == this.slots.length && getLayout(screen) == this.layout;
+    }
+
+    private static int getLayout(@NotNull ContainerScreen<?> screen)
+    {
+        // The creative inventory moves its slots when the tab changes.
+        if (screen instanceof CreativeInventoryScreen)
+            return ((CreativeInventoryScreenAccessor) screen).getSelectedTab();
+        return 0;
+    }
+
+    /**
+     * Gets the slots count.
+     *
+     * @return The slots count.
+     */
+    public int size()
+    {
+        return this.slots.length;
+    }
+
+    /**
+     * Gets the slot at the specified index.
+     *
+     * @param index The index of the slot in the grid.
+     * @return The slot.
+     */
+    public @NotNull Slot getSlot(int index)
+    {
+        return this.slots[index];
+    }
+
+    /**
+     * Gets the X coordinate of the center of the specified slot, relative to the GUI origin.
+     *
+     * @param index The index of the slot in the grid.
+     * @return The X coordinate.
+     */
+    public int getCenterX(int index)
+    {
+        return this.centerX[index];
+    }
+
+    /**
+     * Gets the Y coordinate of the center of the specified slot, relative to the GUI origin.
+     *
+     * @param index The index of the slot in the grid.
+     * @return The Y coordinate.
+     */
+    public int getCenterY(int index)
+    {
+        return this.centerY[index];
+    }
+
+    /**
+     * Gets the index of the specified slot in the grid.
+     *
+     * @param slot The slot, may be null.
+     * @return The index of the slot, or -1 if the slot is not in the grid.
+     */
+    public int indexOf(@Nullable Slot slot)
+    {
+        if (slot == null)
+            return -1;
+        // The slot identifier is usually its index in the container.
+        if (slot.id >= 0 && slot.id < this.slots.length && this.slots[slot.id] == slot)
+            return slot.id;
+        for (int i = 0; i < this.slots.length; i++) {
+            if (this.slots[i] == slot)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the nearest neighbour of the specified slot in the specified direction.
+     *
+     * @param index     The index of the slot in the grid.
+     * @param direction The direction: {@link #UP}, {@link #DOWN}, {@link #RIGHT} or {@link #LEFT}.
+     * @return The index of the neighbour in the grid, or -1 if there is no slot in this direction.
+     */
+    public int getNeighbour(int index, int direction)
+    {
+        if (direction < UP || direction > LEFT)
+            return -1;
+        if (this.neighbours == null)
+            this.neighbours = this.buildNeighbours();
+        return this.neighbours[index * 4 + direction];
+    }
+
+    private int[] buildNeighbours()
+    {
+        // Irregular layouts have no rows nor columns to rely on, so every pair of slots is considered once.
+        int[] neighbours = new int[this.slots.length * 4];
+        for (int i = 0; i < this.slots.length; i++) {
+            for (int direction = UP; direction <= LEFT; direction++)
+                neighbours[i * 4 + direction] = this.findNeighbour(this.centerX[i], this.centerY[i], direction);
+        }
+        return neighbours;
+    }
+
+    /**
+     * Finds the nearest slot of the specified point in the specified direction.
+     * <p>
+     * A slot is in the direction if its center is strictly beyond the point on the axis of the direction.
+     * If several slots are at the same distance, the first one of the container is returned.
+     *
+     * @param x         The X coordinate relative to the GUI origin.
+     * @param y         The Y coordinate relative to the GUI origin.
+     * @param direction The direction: {@link #UP}, {@link #DOWN}, {@link #RIGHT} or {@link #LEFT}.
+     * @return The index of the nearest slot in the grid, or -1 if there is no slot in this direction.
+     */
+    public int findNeighbour(int x, int y, int direction)
+    {
+        int nearest = -1;
+        long nearestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < this.slots.length; i++) {
+            int slotX = this.centerX[i];
+            int slotY = this.centerY[i];
+            boolean inDirection;
+            switch (direction) {
+                case UP:
+                    inDirection = slotY < y;
+                    break;
+                case DOWN:
+                    inDirection = slotY > y;
+                    break;
+                case RIGHT:
+                    inDirection = slotX > x;
+                    break;
+                case LEFT:
+                    inDirection = slotX < x;
+                    break;
+                default:
+                    inDirection = false;
+            }
+            if (!inDirection)
+                continue;
+            long dx = slotX - x;
+            long dy = slotY - y;
+            long distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Finds the slot whose center is the nearest of the specified point within the specified radius.
+     * <p>
+     * If several slots are at the same distance, the first one of the container is returned.
+     *
+     * @param x      The X coordinate relative to the GUI origin.
+     * @param y      The Y coordinate relative to the GUI origin.
+     * @param radius The radius.
+     * @return The index of the nearest slot in the grid, or -1 if no slot is in the radius.
+     */
+    public int findNearest(int x, int y, int radius)
+    {
+        if (this.slots.length == 0)
+            return -1;
+        int fromColumn = Math.max(0, Math.floorDiv(x - radius - this.minX, CELL_SIZE));
+        int toColumn = Math.min(this.columns - 1, Math.floorDiv(x + radius - this.minX, CELL_SIZE));
+        int fromRow = Math.max(0, Math.floorDiv(y - radius - this.minY, CELL_SIZE));
+        int toRow = Math.min(this.rows - 1, Math.floorDiv(y + radius - this.minY, CELL_SIZE));
+
+        int nearest = -1;
+        long nearestDistance = (long) radius * radius;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = row * this.columns + column;
+                for (int i = this.cellStart[cell]; i < this.cellStart[cell + 1]; i++) {
+                    int slot = this.cellSlots[i];
+                    long dx = this.centerX[slot] - x;
+                    long dy = this.centerY[slot] - y;
+                    long distance = dx * dx + dy * dy;
+                    if (distance < nearestDistance || (distance == nearestDistance && (nearest == -1 || slot < nearest))) {
+                        nearest = slot;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+}
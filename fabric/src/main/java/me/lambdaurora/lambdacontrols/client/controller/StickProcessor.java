@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2020 LambdAurora <aurora42lambda@gmail.com>
+ *
+ * This file is part of LambdaControls.
+ *
+ * Licensed under the MIT license. For more information,
+ * see the LICENSE file.
+ */
+
+package me.lambdaurora.lambdacontrols.client.controller;
+
+import me.lambdaurora.lambdacontrols.client.DeadZoneMode;
+import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
+import org.jetbrains.annotations.NotNull;
+import org.lwjgl.glfw.GLFWGamepadState;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Represents the processing stage of the analog input of a controller.
+ * <p>
+ * The sticks are processed as (x, y) pairs: the dead zone is applied to each axis or to the distance from the center,
+ * then the outer dead zone is applied. The look direction uses the right stick through a response curve
+ * which is precomputed in a lookup table each time the configuration changes.
+ * <p>
+ * The processed values are stored in primitive fields read by the look direction, the axes as buttons and the GUI cursor.
+ *
+ * @author LambdAurora
+ * @version 1.2.0
+ * @since 1.2.0
+ */
+public class StickProcessor
+{
+    private static final int CURVE_RESOLUTION = 256;
+
+    private final float[]                       axes  = new float[GLFW_GAMEPAD_AXIS_LAST + 1];
+    private final float[]                       curve = new float[CURVE_RESOLUTION + 2];
+    private       float                         lookX = 0.F;
+    private       float                         lookY = 0.F;
+    // The configuration the processor is set up for.
+    private       LambdaControlsConfig.Snapshot config;
+    private       DeadZoneMode                  mode;
+    private       float                         deadZone;
+    private       float                         outerScale;
+    private       float                         scaledRange;
+
+    /**
+     * Processes the axes of the specified gamepad state.
+     *
+     * @param config The configuration.
+     * @param state  The gamepad state.
+     */
+    public void process(@NotNull LambdaControlsConfig.Snapshot config, @NotNull GLFWGamepadState state)
+    {
+        if (config != this.config)
+            this.configure(config);
+
+        this.processStick(state.axes(GLFW_GAMEPAD_AXIS_LEFT_X), state.axes(GLFW_GAMEPAD_AXIS_LEFT_Y), GLFW_GAMEPAD_AXIS_LEFT_X, GLFW_GAMEPAD_AXIS_LEFT_Y);
+        this.processStick(state.axes(GLFW_GAMEPAD_AXIS_RIGHT_X), state.axes(GLFW_GAMEPAD_AXIS_RIGHT_Y), GLFW_GAMEPAD_AXIS_RIGHT_X, GLFW_GAMEPAD_AXIS_RIGHT_Y);
+        // The triggers are single axes.
+        this.axes[GLFW_GAMEPAD_AXIS_LEFT_TRIGGER] = this.processAxis(state.axes(GLFW_GAMEPAD_AXIS_LEFT_TRIGGER));
+        this.axes[GLFW_GAMEPAD_AXIS_RIGHT_TRIGGER] = this.processAxis(state.axes(GLFW_GAMEPAD_AXIS_RIGHT_TRIGGER));
+
+        this.lookX = this.applyCurve(this.axes[GLFW_GAMEPAD_AXIS_RIGHT_X]);
+        this.lookY = this.applyCurve(this.axes[GLFW_GAMEPAD_AXIS_RIGHT_Y]);
+    }
+
+    private void configure(@NotNull LambdaControlsConfig.Snapshot config)
+    {
+        this.config = config;
+        this.mode = config.deadZoneMode;
+        this.deadZone = (float) config.deadZone;
+        this.outerScale = (float) (1.0 / (1.0 - config.outerDeadZone));
+        this.scaledRange = (float) Math.max(0.01, 1.0 - config.deadZone - config.outerDeadZone);
+
+        // The unscaled modes keep the legacy look response: the deflection is divided by the span out of the dead zone.
+        double gain = this.mode == DeadZoneMode.SCALED_RADIAL ? 1.0 : 1.0 / (1.0 - config.deadZone);
+        for (int i = 0; i <= CURVE_RESOLUTION; i++)
+            this.curve[i] = (float) Math.pow(i / (double) CURVE_RESOLUTION * gain, config.responseCurve);
+        // Padding for the interpolation of the full deflection.
+        this.curve[CURVE_RESOLUTION + 1] = this.curve[CURVE_RESOLUTION];
+    }
+
+    private void processStick(float x, float y, int xAxis, int yAxis)
+    {
+        if (this.mode == DeadZoneMode.AXIAL) {
+            this.axes[xAxis] = this.processAxis(x);
+            this.axes[yAxis] = this.processAxis(y);
+            return;
+        }
+
+        float magnitude = (float) Math.sqrt(x * x + y * y);
+        if (magnitude <= this.deadZone) {
+            this.axes[xAxis] = 0.F;
+            this.axes[yAxis] = 0.F;
+            return;
+        }
+        float processed;
+        if (this.mode == DeadZoneMode.SCALED_RADIAL)
+            processed = Math.min(1.F, (magnitude - this.deadZone) / this.scaledRange);
+        else
+            processed = Math.min(1.F, magnitude * this.outerScale);
+        // Keeps the direction of the stick, so the diagonals are as fast as the axes.
+        float scale = processed / magnitude;
+        this.axes[xAxis] = x * scale;
+        this.axes[yAxis] = y * scale;
+    }
+
+    private float processAxis(float value)
+    {
+        float absValue = Math.abs(value);
+        if (absValue <= this.deadZone)
+            return 0.F;
+        if (this.mode == DeadZoneMode.SCALED_RADIAL)
+            absValue = (absValue - this.deadZone) / this.scaledRange;
+        else
+            absValue *= this.outerScale;
+        return Math.copySign(Math.min(1.F, absValue), value);
+    }
+
+    private float applyCurve(float value)
+    {
+        float position = Math.min(1.F, Math.abs(value)) * CURVE_RESOLUTION;
+        int index = (int) position;
+        float curved = this.curve[index] + (this.curve[index + 1] - this.curve[index]) * (position - index);
+        return Math.copySign(curved, value);
+    }
+
+    /**
+     * Gets the processed value of the specified axis.
+     *
+     * @param axis The axis.
+     * @return The processed value between -1 and 1, 0 in the dead zone.
+     */
+    public float getAxis(int axis)
+    {
+        return axis >= 0 && axis < this.axes.length ? this.axes[axis] : 0.F;
+    }
+
+    /**
+     * Gets the horizontal look intensity from the right stick, after the response curve.
+     *
+     * @return The signed horizontal look intensity.
+     */
+    public float getLookX()
+    {
+        return this.lookX;
+    }
+
+    /**
+     * Gets the vertical look intensity from the right stick, after the response curve.
+     *
+     * @return The signed vertical look intensity.
+     */
+    public float getLookY()
+    {
+        return this.lookY;
+    }
+}
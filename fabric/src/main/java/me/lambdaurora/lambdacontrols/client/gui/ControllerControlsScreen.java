@@ -64,7 +64,7 @@ public class ControllerControlsScreen extends Screen
         this.bindingsListWidget = new ControlsListWidget(this, this.minecraft);
         this.children.add(this.bindingsListWidget);
         this.resetButton = this.addButton(new ButtonWidget(this.width / 2 - 155, this.height - 29, 150, 20, I18n.translate("controls.resetAll"),
-                btn -> InputManager.streamBindings().forEach(binding -> this.mod.config.setButtonBinding(binding, binding.getDefaultButton()))));
+                btn -> InputManager.bulkUpdate(() -> InputManager.streamBindings().forEach(binding -> this.mod.config.setButtonBinding(binding, binding.getDefaultButton())))));
         this.addButton(new ButtonWidget(this.width / 2 - 155 + 160, this.height - 29, 150, 20, I18n.translate("gui.done"),
                 btn -> this.minecraft.openScreen(this.parent)));
     }
@@ -30,9 +30,15 @@ import org.lwjgl.glfw.GLFW;
  */
 public class LambdaControlsRenderer
 {
-    public static final  int ICON_SIZE   = 20;
-    private static final int BUTTON_SIZE = 15;
-    private static final int AXIS_SIZE   = 18;
+    public static final  int         ICON_SIZE       = 20;
+    private static final int         BUTTON_SIZE     = 15;
+    private static final int         AXIS_SIZE       = 18;
+    // The second device keeps the magenta tint of the second Joy-Con.
+    private static final float[][]   DEVICE_TINTS    = {
+            {1.0F, 1.0F, 1.0F}, {1.0F, 0.0F, 1.0F}, {0.0F, 1.0F, 1.0F}, {1.0F, 1.0F, 0.0F},
+            {1.0F, 0.5F, 0.0F}, {0.5F, 1.0F, 0.0F}, {0.0F, 0.5F, 1.0F}, {1.0F, 0.0F, 0.5F}
+    };
+    private static final float[]     ANY_DEVICE_TINT = {0.7F, 0.7F, 0.7F};
 
     public static int getButtonSize(int button)
     {
@@ -109,13 +115,10 @@ public class LambdaControlsRenderer
     @SuppressWarnings("deprecated")
     public static int drawButton(int x, int y, int button, @NotNull MinecraftClient client)
     {
-        boolean second = false;
         if (button == -1)
             return 0;
-        else if (button >= 500) {
-            button -= 1000;
-            second = true;
-        }
+        int device = ButtonBinding.getDevice(button);
+        button = ButtonBinding.getRawButton(button);
 
         int controllerType = LambdaControlsClient.get().config.getControllerType().getId();
         boolean axis = false;
@@ -189,16 +192,31 @@ public class LambdaControlsRenderer
 
         int assetSize = axis ? AXIS_SIZE : BUTTON_SIZE;
 
-        RenderSystem.color4f(1.0F, second ? 0.0F : 1.0F, 1.0F, 1.0F);
+        float[] tint = getDeviceTint(device);
+        RenderSystem.color4f(tint[0], tint[1], tint[2], 1.0F);
         DrawableHelper.blit(x + (ICON_SIZE / 2 - assetSize / 2), y + (ICON_SIZE / 2 - assetSize / 2),
                 (float) buttonOffset, (float) (controllerType * (axis ? AXIS_SIZE : BUTTON_SIZE)),
                 assetSize, assetSize,
                 256, 256);
         GlStateManager.enableDepthTest();
+        RenderSystem.color4f(1.0F, 1.0F, 1.0F, 1.0F);
 
         return ICON_SIZE;
     }
 
+    /**
+     * Gets the tint of the button icons of the specified device.
+     *
+     * @param device The device index.
+     * @return The red, green and blue components of the tint.
+     */
+    private static float[] getDeviceTint(int device)
+    {
+        if (device == ButtonBinding.ANY_DEVICE)
+            return ANY_DEVICE_TINT;
+        return DEVICE_TINTS[device % DEVICE_TINTS.length];
+    }
+
     public static int drawButtonTip(int x, int y, @NotNull ButtonBinding button, boolean display, @NotNull MinecraftClient client)
     {
         return drawButtonTip(x, y, button.getButton(), button.getTranslationKey(), display, client);
@@ -218,6 +236,30 @@ public class LambdaControlsRenderer
         return -10;
     }
 
+    /**
+     * Draws the virtual cursor, an arrow with its tip on the cursor position.
+     *
+     * @param mouseX The X coordinate of the cursor in the window.
+     * @param mouseY The Y coordinate of the cursor in the window.
+     * @param client The client instance.
+     */
+    public static void drawVirtualCursor(double mouseX, double mouseY, @NotNull MinecraftClient client)
+    {
+        int x = (int) (mouseX * (double) client.getWindow().getScaledWidth() / (double) client.getWindow().getWidth());
+        int y = (int) (mouseY * (double) client.getWindow().getScaledHeight() / (double) client.getWindow().getHeight());
+
+        RenderSystem.pushMatrix();
+        // Draws above the items of the containers.
+        RenderSystem.translatef(0.F, 0.F, 400.F);
+        for (int row = 0; row < 10; row++) {
+            int width = row < 7 ? row + 1 : 10 - row;
+            DrawableHelper.fill(x, y + row, x + width + 1, y + row + 1, 0xff000000);
+            if (row > 1 && row < 8)
+                DrawableHelper.fill(x + 1, y + row, x + width, y + row + 1, 0xffffffff);
+        }
+        RenderSystem.popMatrix();
+    }
+
     private static int getButtonTipWidth(@NotNull String action, @NotNull TextRenderer textRenderer)
     {
         return 15 + 5 + textRenderer.getStringWidth(action);
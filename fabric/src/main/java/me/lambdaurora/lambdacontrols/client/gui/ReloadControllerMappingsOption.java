@@ -38,10 +38,11 @@ public class ReloadControllerMappingsOption extends Option implements Nameable
     {
         SpruceButtonWidget button = new SpruceButtonWidget(x, y, width, 20, this.getName(), btn -> {
             MinecraftClient client = MinecraftClient.getInstance();
-            Controller.updateMappings();
-            if (client.currentScreen != null)
-                client.currentScreen.init(client, client.getWindow().getScaledWidth(), client.getWindow().getScaledHeight());
-            client.getToastManager().add(new SystemToast(SystemToast.Type.TUTORIAL_HINT, new TranslatableText("lambdacontrols.controller.mappings.updated"), null));
+            Controller.updateMappings().thenRun(() -> {
+                if (client.currentScreen != null)
+                    client.currentScreen.init(client, client.getWindow().getScaledWidth(), client.getWindow().getScaledHeight());
+                client.getToastManager().add(new SystemToast(SystemToast.Type.TUTORIAL_HINT, new TranslatableText("lambdacontrols.controller.mappings.updated"), null));
+            });
         });
         button.setTooltip(new TranslatableText("lambdacontrols.tooltip.reload_controller_mappings"));
         return button;
@@ -11,6 +11,7 @@ package me.lambdaurora.lambdacontrols.client.mixin;
 
 import com.mojang.authlib.GameProfile;
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
+import me.lambdaurora.lambdacontrols.client.LambdaControlsConfig;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.input.Input;
 import net.minecraft.client.network.AbstractClientPlayerEntity;
@@ -54,12 +55,12 @@ public abstract class ClientPlayerEntityMixin extends AbstractClientPlayerEntity
     @Inject(method = "move(Lnet/minecraft/entity/MovementType;Lnet/minecraft/util/math/Vec3d;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/network/AbstractClientPlayerEntity;move(Lnet/minecraft/entity/MovementType;Lnet/minecraft/util/math/Vec3d;)V"))
     public void onMove(MovementType type, Vec3d movement, CallbackInfo ci)
     {
-        LambdaControlsClient mod = LambdaControlsClient.get();
+        LambdaControlsConfig.Snapshot config = LambdaControlsClient.get().config.getSnapshot();
         if (type == MovementType.SELF) {
-            if (this.abilities.flying && (!mod.config.hasFlyDrifting() || !mod.config.hasFlyVerticalDrifting())) {
+            if (this.abilities.flying && (!config.flyDrifting || !config.flyVerticalDrifting)) {
                 if (!this.hasMovementInput()) {
                     if (!this.lambdacontrols_driftingPrevented) {
-                        if (!mod.config.hasFlyDrifting())
+                        if (!config.flyDrifting)
                             this.setVelocity(this.getVelocity().multiply(0, 1.0, 0));
                     }
                     this.lambdacontrols_driftingPrevented = true;
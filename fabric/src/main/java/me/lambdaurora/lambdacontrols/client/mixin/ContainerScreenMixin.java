@@ -12,14 +12,17 @@ package me.lambdaurora.lambdacontrols.client.mixin;
 import me.lambdaurora.lambdacontrols.ControlsMode;
 import me.lambdaurora.lambdacontrols.client.LambdaControlsClient;
 import me.lambdaurora.lambdacontrols.client.compat.LambdaControlsCompat;
+import me.lambdaurora.lambdacontrols.client.controller.SlotGrid;
 import me.lambdaurora.lambdacontrols.client.gui.LambdaControlsRenderer;
 import me.lambdaurora.lambdacontrols.client.util.ContainerScreenAccessor;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.ingame.ContainerScreen;
 import net.minecraft.container.Slot;
+import org.jetbrains.annotations.NotNull;
 import org.lwjgl.glfw.GLFW;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.gen.Accessor;
 import org.spongepowered.asm.mixin.gen.Invoker;
 import org.spongepowered.asm.mixin.injection.At;
@@ -32,6 +35,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(ContainerScreen.class)
 public abstract class ContainerScreenMixin implements ContainerScreenAccessor
 {
+    @Unique
+    private SlotGrid lambdacontrols_slotGrid;
+
     @Accessor("x")
     public abstract int getX();
 
@@ -41,6 +47,22 @@ public abstract class ContainerScreenMixin implements ContainerScreenAccessor
     @Invoker("getSlotAt")
     public abstract Slot lambdacontrols_getSlotAt(double posX, double posY);
 
+    @Override
+    public @NotNull SlotGrid lambdacontrols_getSlotGrid()
+    {
+        ContainerScreen<?> screen = (ContainerScreen<?>) (Object) this;
+        if (this.lambdacontrols_slotGrid == null || !this.lambdacontrols_slotGrid.isValid(screen))
+            this.lambdacontrols_slotGrid = SlotGrid.of(screen);
+        return this.lambdacontrols_slotGrid;
+    }
+
+    @Inject(method = "init", at = @At("RETURN"))
+    private void onInit(CallbackInfo ci)
+    {
+        // The layout may change when the screen is resized.
+        this.lambdacontrols_slotGrid = null;
+    }
+
     @Inject(method = "render", at = @At("RETURN"))
     public void onRender(int mouseX, int mouseY, float delta, CallbackInfo ci)
     {
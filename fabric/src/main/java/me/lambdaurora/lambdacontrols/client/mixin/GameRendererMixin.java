@@ -33,4 +33,11 @@ public class GameRendererMixin
         if (this.client.currentScreen != null && LambdaControlsClient.get().config.getControlsMode() == ControlsMode.CONTROLLER)
             LambdaControlsClient.get().input.onPreRenderScreen(this.client, this.client.currentScreen);
     }
+
+    @Inject(method = "render", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/gui/screen/Screen;render(IIF)V", shift = At.Shift.AFTER))
+    private void onPostRenderScreen(float tickDelta, long startTime, boolean fullRender, CallbackInfo ci)
+    {
+        if (this.client.currentScreen != null && LambdaControlsClient.get().config.getControlsMode() == ControlsMode.CONTROLLER)
+            LambdaControlsClient.get().input.onPostRenderScreen(this.client, this.client.currentScreen);
+    }
 }
@@ -81,6 +81,12 @@ public abstract class MinecraftClientMixin implements FrontBlockPlaceResultAcces
         LambdaControlsClient.get().onMcInit((MinecraftClient) (Object) this);
     }
 
+    @Inject(method = "stop", at = @At("HEAD"))
+    private void onStop(CallbackInfo ci)
+    {
+        LambdaControlsClient.get().onMcStop();
+    }
+
     @Inject(method = "tick", at = @At("HEAD"))
     private void onStartTick(CallbackInfo ci)
     {
@@ -18,6 +18,9 @@ import org.spongepowered.asm.mixin.gen.Invoker;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import static me.lambdaurora.lambdacontrols.client.controller.InputManager.INPUT_MANAGER;
 
 /**
  * Adds extra access to the mouse.
@@ -34,4 +37,25 @@ public abstract class MouseMixin implements MouseAccessor
         if (LambdaControlsClient.get().config.getControlsMode() == ControlsMode.TOUCHSCREEN)
             ci.cancel();
     }
+
+    @Inject(method = "onCursorPos", at = @At("HEAD"))
+    private void onCursorPos(long window, double x, double y, CallbackInfo ci)
+    {
+        // The virtual cursor never calls this method, so the system cursor moved.
+        INPUT_MANAGER.onSystemCursorMoved();
+    }
+
+    @Inject(method = "getX", at = @At("HEAD"), cancellable = true)
+    private void onGetX(CallbackInfoReturnable<Double> cir)
+    {
+        if (INPUT_MANAGER.isVirtualCursorActive())
+            cir.setReturnValue(INPUT_MANAGER.getVirtualMouseX());
+    }
+
+    @Inject(method = "getY", at = @At("HEAD"), cancellable = true)
+    private void onGetY(CallbackInfoReturnable<Double> cir)
+    {
+        if (INPUT_MANAGER.isVirtualCursorActive())
+            cir.setReturnValue(INPUT_MANAGER.getVirtualMouseY());
+    }
 }
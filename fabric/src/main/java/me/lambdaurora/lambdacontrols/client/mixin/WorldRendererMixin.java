@@ -92,8 +92,9 @@ public abstract class WorldRendererMixin
             if (placementState == null)
                 return;
             VoxelShape outlineShape = placementState.getOutlineShape(this.client.world, blockPos, EntityContext.of(camera.getFocusedEntity()));
-            int[] color = LambdaControlsClient.get().config.getFrontBlockOutlineColor();
-            drawShapeOutline(matrices, vertexConsumer, outlineShape, (double) blockPos.getX() - x, (double) blockPos.getY() - y, (double) blockPos.getZ() - z, color[0] / 255.f, color[1] / 255.f, color[2] / 255.f, color[3] / 255.f);
+            int color = LambdaControlsClient.get().config.getSnapshot().frontBlockOutlineColor;
+            drawShapeOutline(matrices, vertexConsumer, outlineShape, (double) blockPos.getX() - x, (double) blockPos.getY() - y, (double) blockPos.getZ() - z,
+                    ((color >> 16) & 0xFF) / 255.f, ((color >> 8) & 0xFF) / 255.f, (color & 0xFF) / 255.f, (color >>> 24) / 255.f);
         }
     }
 }
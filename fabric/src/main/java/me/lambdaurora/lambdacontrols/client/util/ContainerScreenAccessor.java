@@ -9,7 +9,9 @@
 
 package me.lambdaurora.lambdacontrols.client.util;
 
+import me.lambdaurora.lambdacontrols.client.controller.SlotGrid;
 import net.minecraft.container.Slot;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents an accessor to AbstractContainerScreen.
@@ -38,4 +40,11 @@ public interface ContainerScreenAccessor
      * @return The slot at the specified position.
      */
     Slot lambdacontrols_getSlotAt(double pos_x, double pos_y);
+
+    /**
+     * Gets the slot grid of the screen, rebuilt if the layout changed.
+     *
+     * @return The slot grid.
+     */
+    @NotNull SlotGrid lambdacontrols_getSlotGrid();
 }